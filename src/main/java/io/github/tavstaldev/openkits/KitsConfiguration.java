@@ -13,13 +13,31 @@ public class KitsConfiguration extends ConfigurationBase {
     // General
     public String locale, prefix;
     public boolean usePlayerLocale, checkForUpdates, debug;
+    public long playerCacheGracePeriod;
 
     // Storage
     public String storageType, storageFilename, storageHost, storageDatabase, storageUsername, storagePassword, storageTablePrefix;
-    public int storagePort;
+    public int storagePort, storageThreads, storageQueueSize;
+    public boolean storagePurgeEnabled;
+    public int storagePurgeInterval, storagePurgeBatchSize, storagePurgeBatchesPerRun;
+    public int storageSqliteReaders, storageSqliteBusyTimeout;
+    public int storagePoolMaximumPoolSize, storagePoolMinimumIdle;
+    public long storagePoolMaxLifetime, storagePoolIdleTimeout, storagePoolKeepaliveTime, storagePoolConnectionTimeout, storagePoolLeakDetectionThreshold;
+
+    // Sync
+    public String syncType, syncServerId;
+    public long syncPollInterval, syncRetention;
+    public int syncRefreshInterval;
+
+    // Economy
+    public long economyBalanceCacheTime;
+    public boolean economyAsyncTransactions;
+
+    // GUI
+    public long guiMenuIdleTime;
 
     // Kit Config
-    public boolean dropItemsOnFullInventory, allowPreviewingKits, requirePermissionForPreview;
+    public boolean useClaimBox, dropItemsOnFullInventory, allowPreviewingKits, requirePermissionForPreview;
     public String permissionToPreview, firstJoinKit;
 
     // Default values
@@ -48,6 +66,10 @@ public class KitsConfiguration extends ConfigurationBase {
         resolveComment("debug", List.of(
                 "If true, the plugin will output additional debug information to the console."));
         prefix = resolveGet("prefix", "&bOpen&3Kits &8»");
+        playerCacheGracePeriod = resolveGet("playerCacheGracePeriod", 60L);
+        resolveComment("playerCacheGracePeriod", List.of(
+                "How long, in seconds, the data of a player is kept after they leave.",
+                "Players rejoining within this time do not have to load their data again."));
         //#endregion
 
         //#region Storage
@@ -55,17 +77,126 @@ public class KitsConfiguration extends ConfigurationBase {
         resolveComment("storage.type", List.of("Supported types: sqlite, mysql"));
         storageFilename = resolveGet("storage.filename", "database");
         resolveComment("storage.filename", List.of("Used only for SQLite storage type. The database file will be created in the plugin's folder."));
+        storageSqliteReaders = resolveGet("storage.sqlite.readers", 4);
+        resolveComment("storage.sqlite.readers", List.of(
+                "Used only for SQLite storage type. The number of connections kept open for reading.",
+                "Writes always go through a single dedicated connection."));
+        storageSqliteBusyTimeout = resolveGet("storage.sqlite.busyTimeout", 5000);
+        resolveComment("storage.sqlite.busyTimeout", List.of(
+                "Used only for SQLite storage type. How long, in milliseconds, a connection waits for a locked database."));
         storageHost = resolveGet("storage.host", "localhost");
         storagePort = resolveGet("storage.port", 3306);
         storageDatabase = resolveGet("storage.database", "minecraft");
         storageUsername = resolveGet("storage.username", "root");
         storagePassword = resolveGet("storage.password", "ascent");
         storageTablePrefix = resolveGet("storage.tablePrefix", "openkits");
+        storagePoolMaximumPoolSize = resolveGet("storage.pool.maximumPoolSize", 10);
+        resolveComment("storage.pool", List.of(
+                "Used only for MySQL storage type. Settings of the connection pool, times are in milliseconds.",
+                "See https://github.com/brettwooldridge/HikariCP#gear-configuration-knobs-baby for details."));
+        resolveComment("storage.pool.maximumPoolSize", List.of(
+                "The maximum number of open connections, both idle and in use."));
+        storagePoolMinimumIdle = resolveGet("storage.pool.minimumIdle", 10);
+        resolveComment("storage.pool.minimumIdle", List.of(
+                "The minimum number of idle connections kept open. Equal to the maximum pool size for a fixed size pool."));
+        storagePoolMaxLifetime = resolveGet("storage.pool.maxLifetime", 1800000L);
+        resolveComment("storage.pool.maxLifetime", List.of(
+                "How long a connection may live before it is replaced. Keep it a few seconds below the 'wait_timeout' of the server."));
+        storagePoolIdleTimeout = resolveGet("storage.pool.idleTimeout", 600000L);
+        resolveComment("storage.pool.idleTimeout", List.of(
+                "How long a connection above the minimum idle count may stay idle before it is closed."));
+        storagePoolKeepaliveTime = resolveGet("storage.pool.keepaliveTime", 0L);
+        resolveComment("storage.pool.keepaliveTime", List.of(
+                "How often idle connections are pinged to keep them alive. 0 disables it."));
+        storagePoolConnectionTimeout = resolveGet("storage.pool.connectionTimeout", 30000L);
+        resolveComment("storage.pool.connectionTimeout", List.of(
+                "How long a query waits for a free connection before it fails."));
+        storagePoolLeakDetectionThreshold = resolveGet("storage.pool.leakDetectionThreshold", 0L);
+        resolveComment("storage.pool.leakDetectionThreshold", List.of(
+                "Logs a warning when a connection is used longer than this. 0 disables it."));
+        resolveGet("storage.pool.properties.cachePrepStmts", true);
+        resolveGet("storage.pool.properties.prepStmtCacheSize", 250);
+        resolveGet("storage.pool.properties.prepStmtCacheSqlLimit", 2048);
+        resolveGet("storage.pool.properties.useServerPrepStmts", true);
+        resolveGet("storage.pool.properties.rewriteBatchedStatements", true);
+        resolveComment("storage.pool.properties", List.of(
+                "Properties passed to the JDBC driver. Any property supported by the driver can be added here."));
+        storageThreads = resolveGet("storage.threads", 2);
+        resolveComment("storage.threads", List.of(
+                "The number of background threads used for database operations.",
+                "Database queries never run on the main server thread."));
+        storageQueueSize = resolveGet("storage.queueSize", 1000);
+        resolveComment("storage.queueSize", List.of(
+                "The maximum number of database operations waiting for a free background thread.",
+                "Operations above the limit are refused with an error instead of running on the main thread."));
+        storagePurgeEnabled = resolveGet("storage.purge.enabled", true);
+        resolveComment("storage.purge.enabled", List.of(
+                "If true, expired cooldowns are periodically deleted from the database.",
+                "Cooldowns of one-time kits are always kept."));
+        storagePurgeInterval = resolveGet("storage.purge.interval", 300);
+        resolveComment("storage.purge.interval", List.of(
+                "How often, in seconds, the expired cooldowns are purged."));
+        storagePurgeBatchSize = resolveGet("storage.purge.batchSize", 500);
+        resolveComment("storage.purge.batchSize", List.of(
+                "The maximum number of rows deleted by a single statement."));
+        storagePurgeBatchesPerRun = resolveGet("storage.purge.batchesPerRun", 10);
+        resolveComment("storage.purge.batchesPerRun", List.of(
+                "The maximum number of batches deleted per run. Limits the load the purge puts on the database."));
+        //#endregion
+
+        //#region Sync
+        syncType = resolveGet("sync.type", "none");
+        resolveComment("sync.type", List.of(
+                "How the servers sharing a MySQL database notify each other about changed kits and cooldowns.",
+                "Options: none, polling, messaging",
+                "none: every server only sees the changes of the other servers after a restart or reload.",
+                "polling: the changes are written to a table that every server polls. Recommended.",
+                "messaging: the changes are sent through the BungeeCord plugin messaging channel.",
+                "Plugin messages need an online player on both the sending and the receiving server, changes made while a server is empty are lost.",
+                "Only used with the mysql storage type."));
+        syncServerId = resolveGet("sync.serverId", "");
+        resolveComment("sync.serverId", List.of(
+                "The identifier of this server on the network. Leave empty to generate a random one on every start."));
+        syncPollInterval = resolveGet("sync.pollInterval", 500L);
+        resolveComment("sync.pollInterval", List.of(
+                "How often, in milliseconds, the changes table is polled. Only used by the polling type."));
+        syncRetention = resolveGet("sync.retention", 600L);
+        resolveComment("sync.retention", List.of(
+                "How long, in seconds, the changes are kept in the changes table. Only used by the polling type."));
+        syncRefreshInterval = resolveGet("sync.refreshInterval", 30);
+        resolveComment("sync.refreshInterval", List.of(
+                "How often, in seconds, the kits changed on the other servers are reloaded. Set to 0 to disable.",
+                "Works with any sync type, each check only reads a single revision number while nothing has changed.",
+                "Only used with the mysql storage type."));
+        //#endregion
+
+        //#region Economy
+        economyBalanceCacheTime = resolveGet("economy.balanceCacheTime", 3000L);
+        resolveComment("economy.balanceCacheTime", List.of(
+                "How long, in milliseconds, a balance read from the economy plugin is reused for the kits menu.",
+                "The balance is always checked again when a kit is bought. Set to 0 to read it every time."));
+        economyAsyncTransactions = resolveGet("economy.asyncTransactions", false);
+        resolveComment("economy.asyncTransactions", List.of(
+                "If true, payments and refunds call the economy plugin from a storage thread instead of the main thread.",
+                "Vault does not require economy plugins to be thread-safe, only enable it if yours is documented to be."));
+        //#endregion
+
+        //#region GUI
+        guiMenuIdleTime = resolveGet("gui.menuIdleTime", 30L);
+        resolveComment("gui.menuIdleTime", List.of(
+                "How long, in seconds, the menus of a player are kept after they were closed.",
+                "Reopening them in this time is faster, after it they are released to free memory. Set to 0 to release them right away."));
         //#endregion
 
         //#region Kit Config
+        useClaimBox = resolveGet("kitConfig.useClaimBox", true);
+        resolveComment("kitConfig.useClaimBox", List.of(
+                "If true, the items that do not fit into the inventory are stored in the claim box of the player.",
+                "They can be taken out later with '/kit claim'. Takes precedence over 'dropItemsOnFullInventory'."));
+
         dropItemsOnFullInventory = resolveGet("kitConfig.dropItemsOnFullInventory", true);
         resolveComment("kitConfig.dropItemsOnFullInventory", List.of(
+                "Used when 'useClaimBox' is false.",
                 "If true, when a player redeems a kit and their inventory is full, the items will be dropped on the ground.",
                 "If false, the items will not be given if there is no space in the inventory."));
 
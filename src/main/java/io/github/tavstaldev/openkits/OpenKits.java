@@ -9,11 +9,16 @@ import io.github.tavstaldev.openkits.commands.CommandKit;
 import io.github.tavstaldev.openkits.commands.CommandKitCompleter;
 import io.github.tavstaldev.openkits.commands.CommandKits;
 import io.github.tavstaldev.openkits.events.PlayerEventListener;
+import io.github.tavstaldev.openkits.gui.KitIconCache;
 import io.github.tavstaldev.openkits.managers.MySqlManager;
 import io.github.tavstaldev.openkits.managers.SqlLiteManager;
+import io.github.tavstaldev.openkits.managers.StorageExecutor;
 import io.github.tavstaldev.openkits.metrics.Metrics;
 import io.github.tavstaldev.openkits.models.IDatabase;
 import io.github.tavstaldev.openkits.tasks.CacheCleanTask;
+import io.github.tavstaldev.openkits.tasks.CooldownPurgeTask;
+import io.github.tavstaldev.openkits.tasks.GuiTickTask;
+import io.github.tavstaldev.openkits.tasks.KitRefreshTask;
 import io.github.tavstaldev.openkits.utils.EconomyUtils;
 import org.bukkit.Bukkit;
 import org.bukkit.configuration.file.FileConfiguration;
@@ -29,6 +34,9 @@ public class OpenKits extends PluginBase {
     public static ItemMetaSerializer ItemMetaSerializer;
     public static IDatabase Database;
     private CacheCleanTask cacheCleanTask; // Task for cleaning player caches.
+    private CooldownPurgeTask cooldownPurgeTask; // Task for deleting expired cooldowns.
+    private KitRefreshTask kitRefreshTask; // Task for reloading the kits changed on other servers.
+    private GuiTickTask guiTickTask; // Task for updating the cooldowns shown in the open GUIs.
 
     // Static logger accessor
     public static PluginLogger logger() {
@@ -103,6 +111,7 @@ public class OpenKits extends PluginBase {
         }
 
         // Initialize database based on configuration
+        StorageExecutor.init();
         String databaseType = this.getConfig().getString("storage.type");
         if (databaseType == null) {
             databaseType = "sqlite";
@@ -119,7 +128,6 @@ public class OpenKits extends PluginBase {
             }
         }
         Database.load();
-        Database.checkSchema();
 
         // Initialize GUI
         _logger.debug("Loading GUI...");
@@ -152,8 +160,12 @@ public class OpenKits extends PluginBase {
         // Register cache cleanup task.
         if (cacheCleanTask != null && !cacheCleanTask.isCancelled())
             cacheCleanTask.cancel();
-        cacheCleanTask = new CacheCleanTask(); // Runs every 5 minutes
-        cacheCleanTask.runTaskTimerAsynchronously(this, 0, 5 * 60 * 20);
+        cacheCleanTask = new CacheCleanTask(); // Runs every second
+        cacheCleanTask.runTaskTimerAsynchronously(this, 20, 20);
+        startCooldownPurgeTask();
+        startKitRefreshTask();
+        guiTickTask = new GuiTickTask(); // Runs every second on the main thread
+        guiTickTask.runTaskTimer(this, 20, 20);
 
         _logger.ok(String.format("%s has been successfully loaded.", getProjectName()));
 
@@ -176,7 +188,15 @@ public class OpenKits extends PluginBase {
      */
     @Override
     public void onDisable() {
-        Database.unload();
+        if (cooldownPurgeTask != null && !cooldownPurgeTask.isCancelled())
+            cooldownPurgeTask.cancel();
+        if (kitRefreshTask != null && !kitRefreshTask.isCancelled())
+            kitRefreshTask.cancel();
+        if (guiTickTask != null && !guiTickTask.isCancelled())
+            guiTickTask.cancel();
+        StorageExecutor.shutdown();
+        if (Database != null)
+            Database.unload();
         _logger.info(String.format("%s has been successfully unloaded.", getProjectName()));
     }
 
@@ -211,11 +231,46 @@ public class OpenKits extends PluginBase {
         _logger.debug("Reloading configuration...");
         _config.load();
         _logger.debug("Configuration reloaded.");
+        KitIconCache.clear();
 
         // Restart cache cleanup task
         if (cacheCleanTask != null && !cacheCleanTask.isCancelled())
             cacheCleanTask.cancel();
-        cacheCleanTask = new CacheCleanTask(); // Runs every 5 minutes
-        cacheCleanTask.runTaskTimerAsynchronously(this, 0, 5 * 60 * 20);
+        cacheCleanTask = new CacheCleanTask(); // Runs every second
+        cacheCleanTask.runTaskTimerAsynchronously(this, 20, 20);
+        startCooldownPurgeTask();
+        startKitRefreshTask();
     }
-}
\ No newline at end of file
+
+    /**
+     * Starts or restarts the expired cooldown purge task using the interval from the configuration.
+     */
+    private void startCooldownPurgeTask() {
+        if (cooldownPurgeTask != null && !cooldownPurgeTask.isCancelled())
+            cooldownPurgeTask.cancel();
+        cooldownPurgeTask = null;
+        if (!config().getBoolean("storage.purge.enabled", true))
+            return;
+
+        long interval = Math.max(10, config().getInt("storage.purge.interval", 300)) * 20L;
+        cooldownPurgeTask = new CooldownPurgeTask();
+        cooldownPurgeTask.runTaskTimerAsynchronously(this, interval, interval);
+    }
+
+    /**
+     * Starts or restarts the kit refresh task using the interval from the configuration.
+     * Only a MySQL database can be changed by other servers, so the task is not started for SQLite.
+     */
+    private void startKitRefreshTask() {
+        if (kitRefreshTask != null && !kitRefreshTask.isCancelled())
+            kitRefreshTask.cancel();
+        kitRefreshTask = null;
+        int seconds = config().getInt("sync.refreshInterval", 30);
+        if (seconds <= 0 || !(Database instanceof MySqlManager))
+            return;
+
+        long interval = seconds * 20L;
+        kitRefreshTask = new KitRefreshTask();
+        kitRefreshTask.runTaskTimerAsynchronously(this, interval, interval);
+    }
+}
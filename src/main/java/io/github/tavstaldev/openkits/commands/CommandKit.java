@@ -4,9 +4,15 @@ import io.github.tavstaldev.minecorelib.core.PluginLogger;
 import io.github.tavstaldev.minecorelib.models.command.SubCommandData;
 import io.github.tavstaldev.minecorelib.utils.ChatUtils;
 import io.github.tavstaldev.openkits.OpenKits;
+import io.github.tavstaldev.openkits.gui.ClaimGUI;
 import io.github.tavstaldev.openkits.gui.KitsGUI;
+import io.github.tavstaldev.openkits.managers.PlayerTaskQueue;
+import io.github.tavstaldev.openkits.managers.StorageExecutor;
+import io.github.tavstaldev.openkits.models.IDatabase;
 import io.github.tavstaldev.openkits.models.Kit;
-import io.github.tavstaldev.openkits.models.KitCooldown;
+import io.github.tavstaldev.openkits.models.RedeemResult;
+import io.github.tavstaldev.openkits.models.StorageStatistics;
+import io.github.tavstaldev.openkits.tasks.CooldownPurgeTask;
 import io.github.tavstaldev.openkits.utils.EconomyUtils;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.event.ClickEvent;
@@ -20,12 +26,14 @@ import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.NotNull;
 
 import java.time.Duration;
-import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 public class CommandKit implements CommandExecutor {
     private final PluginLogger _logger = OpenKits.logger().withModule(CommandKit.class);
     private final String baseCommand = "openkits";
+    // A double click queues one more attempt, which then reports the cooldown set by the first
+    private final PlayerTaskQueue _redeemQueue = new PlayerTaskQueue(2);
     @Override
     public boolean onCommand(@NotNull CommandSender sender, @NotNull Command command, @NotNull String label, String @NotNull [] args) {
         if (sender instanceof ConsoleCommandSender) {
@@ -88,6 +96,15 @@ public class CommandKit implements CommandExecutor {
                     OpenKits.Instance.sendLocalizedMsg(player, "Commands.Reload.Done");
                     return true;
                 }
+                case "stats": {
+                    if (!player.hasPermission("openkits.commands.kit.stats")) {
+                        OpenKits.Instance.sendLocalizedMsg(player, "General.NoPermission");
+                        return true;
+                    }
+
+                    sendStats(player);
+                    return true;
+                }
                 case "list": {
                     if (!player.hasPermission("openkits.commands.kit.list")) {
                         OpenKits.Instance.sendLocalizedMsg(player, "General.NoPermission");
@@ -230,6 +247,15 @@ public class CommandKit implements CommandExecutor {
                     KitsGUI.open(player);
                     return true;
                 }
+                case "claim": {
+                    if (!player.hasPermission("openkits.commands.kit.claim")) {
+                        OpenKits.Instance.sendLocalizedMsg(player, "General.NoPermission");
+                        return true;
+                    }
+
+                    ClaimGUI.open(player);
+                    return true;
+                }
                 case "give": {
                     if (!player.hasPermission("openkits.commands.kit.give")) {
                         OpenKits.Instance.sendLocalizedMsg(player, "General.NoPermission");
@@ -264,7 +290,13 @@ public class CommandKit implements CommandExecutor {
                         return true;
                     }
 
-                    kit.give(target);
+                    if (!kit.give(target)) {
+                        OpenKits.Instance.sendLocalizedMsg(player, "Commands.Give.InventoryFull", new HashMap<>() {{
+                            put("kit", kit.Name);
+                            put("player", target.getName());
+                        }});
+                        return true;
+                    }
                     OpenKits.Instance.sendLocalizedMsg(player, "Commands.Give.Success", new HashMap<>() {{
                         put("kit", kit.Name);
                         put("player", target.getName());
@@ -780,80 +812,263 @@ public class CommandKit implements CommandExecutor {
 
             // Find kit by name
             //#region Get Kit
-            Kit kit = OpenKits.Database.findKit(args[0]);
-            if (kit == null) {
-                OpenKits.Instance.sendLocalizedMsg(player, "General.KitNotFound", new HashMap<>() {{
-                    put("kit", args[0]);
-                }});
-                return true;
-            }
+            UUID playerId = player.getUniqueId();
+            String kitName = args[0];
+            // The attempts of the same player run one after the other, the ones above the limit are dropped
+            _redeemQueue.submit(playerId, () -> OpenKits.Database.findKitAsync(kitName)
+                    .thenComposeAsync(kit -> {
+                        if (!player.isOnline() || !canRedeem(player, kitName, kit))
+                            return CompletableFuture.<Void>completedFuture(null);
+
+                        return OpenKits.Database.getCooldownExpiryAsync(playerId, kit.Id)
+                                .thenComposeAsync(expiresAt -> player.isOnline() && canAfford(player, kit, expiresAt)
+                                        ? OpenKits.Database.redeemAsync(playerId, kit.Id, System.currentTimeMillis())
+                                        : CompletableFuture.<RedeemResult>completedFuture(null), StorageExecutor.mainThread())
+                                .thenComposeAsync(result -> result != null
+                                        ? redeem(player, kit, result)
+                                        : CompletableFuture.<Void>completedFuture(null), StorageExecutor.mainThread());
+                    }, StorageExecutor.mainThread())
+                    .exceptionallyAsync(ex -> {
+                        // Also reached when the storage queue is full and the task was refused
+                        if (player.isOnline())
+                            OpenKits.Instance.sendLocalizedMsg(player, "Commands.UnknownError");
+                        _logger.warn("Error while redeeming a kit:");
+                        _logger.error(ex.getMessage());
+                        return null;
+                    }, StorageExecutor.mainThread()));
+            //#endregion
+        } catch (Exception ex) {
+            OpenKits.Instance.sendLocalizedMsg(player, "Commands.UnknownError");
+            _logger.warn("Error while executing kits command:");
+            _logger.error(ex.getMessage());
+        }
 
-            if (!kit.Enable) {
-                OpenKits.Instance.sendLocalizedMsg(player, "Commands.Get.Disabled", new HashMap<>() {{
-                    put("kit", kit.Name);
-                }});
-                return true;
-            }
+        return true;
+    }
 
-            if (kit.RequirePermission && !player.hasPermission(kit.Permission)) {
-                OpenKits.Instance.sendLocalizedMsg(player, "General.NoKitPermission", new HashMap<>() {{
-                    put("kit", kit.Name);
-                }});
-                return true;
+    /**
+     * Checks whether the kit exists and the player is allowed to redeem it.
+     * Sends the reason to the player if not.
+     *
+     * @param player  the player redeeming the kit
+     * @param kitName the name of the kit given by the player
+     * @param kit     the kit found by the name, or null if not found
+     * @return true if the player may continue redeeming the kit
+     */
+    private boolean canRedeem(Player player, String kitName, Kit kit) {
+        if (kit == null) {
+            OpenKits.Instance.sendLocalizedMsg(player, "General.KitNotFound", new HashMap<>() {{
+                put("kit", kitName);
+            }});
+            return false;
+        }
+
+        if (!kit.Enable) {
+            OpenKits.Instance.sendLocalizedMsg(player, "Commands.Get.Disabled", new HashMap<>() {{
+                put("kit", kit.Name);
+            }});
+            return false;
+        }
+
+        if (kit.RequirePermission && !player.hasPermission(kit.Permission)) {
+            OpenKits.Instance.sendLocalizedMsg(player, "General.NoKitPermission", new HashMap<>() {{
+                put("kit", kit.Name);
+            }});
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Checks the cooldown of the player in memory and whether the player can afford the kit, before claiming it.
+     * Sends the reason to the player if not. Must be called on the main thread.
+     *
+     * @param player    the player redeeming the kit
+     * @param kit       the kit to redeem
+     * @param expiresAt the expiry of the player's current cooldown for the kit in epoch milliseconds,
+     *                  or {@link IDatabase#NO_COOLDOWN} if there is none
+     * @return true if the kit should be claimed
+     */
+    private boolean canAfford(Player player, Kit kit, long expiresAt) {
+        RedeemResult refused = RedeemResult.check(kit, expiresAt, System.currentTimeMillis());
+        if (refused != null) {
+            sendRedeemFailure(player, kit, refused);
+            return false;
+        }
+
+        if (kit.Price > 0 && !EconomyUtils.canAfford(player, kit.Price)) {
+            OpenKits.Instance.sendLocalizedMsg(player, "Commands.Get.NoMoney", new HashMap<>() {{
+                put("kit", kit.Name);
+            }});
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Charges the price of the claimed kit and gives it to the player.
+     * The price is withdrawn on a storage thread before the items are given, so a failed payment
+     * only has to revert the claim. Must be called on the main thread.
+     *
+     * @param player the player redeeming the kit
+     * @param kit    the kit to redeem
+     * @param result the result of the claim
+     * @return a future completed when the kit has been given or the claim reverted
+     */
+    private CompletableFuture<Void> redeem(Player player, Kit kit, RedeemResult result) {
+        if (!result.isSuccess()) {
+            if (player.isOnline())
+                sendRedeemFailure(player, kit, result);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        if (!player.isOnline())
+            return OpenKits.Database.revertRedeemAsync(player.getUniqueId(), result);
+
+        if (!kit.canFit(player)) {
+            sendInventoryFull(player, kit);
+            return OpenKits.Database.revertRedeemAsync(player.getUniqueId(), result);
+        }
+
+        if (kit.Price <= 0) {
+            if (!kit.give(player)) {
+                sendInventoryFull(player, kit);
+                return OpenKits.Database.revertRedeemAsync(player.getUniqueId(), result);
             }
+            OpenKits.Instance.sendLocalizedMsg(player, "Commands.Get.Success", new HashMap<>() {{
+                put("kit", kit.Name);
+            }});
+            return CompletableFuture.completedFuture(null);
+        }
 
-            KitCooldown cooldown = OpenKits.Database.findKitCooldown(player.getUniqueId(), kit.Id);
-            if (cooldown != null) {
-                Duration duration = Duration.between(LocalDateTime.now(), cooldown.End);
-                if (duration.getSeconds() > 0) {
-                    OpenKits.Instance.sendLocalizedMsg(player, "Commands.Get.Cooldown", new HashMap<>() {{
+        return EconomyUtils.withdrawAsync(player, kit.Price).thenComposeAsync(paid -> {
+            if (!paid) {
+                if (player.isOnline()) {
+                    OpenKits.Instance.sendLocalizedMsg(player, "Commands.Get.NoMoney", new HashMap<>() {{
                         put("kit", kit.Name);
-                        put("time", String.format("%02d:%02d:%02d", duration.toHoursPart(), duration.toMinutesPart(), duration.toSecondsPart()));
                     }});
-                    return true;
                 }
+                return OpenKits.Database.revertRedeemAsync(player.getUniqueId(), result);
+            }
 
-                if (kit.IsOneTime) {
-                    OpenKits.Instance.sendLocalizedMsg(player, "Commands.Get.OneTime", new HashMap<>() {{
-                        put("kit", kit.Name);
-                    }});
-                    return true;
-                }
+            // The player left or filled the inventory while paying, give the money back
+            boolean online = player.isOnline();
+            if (!online || !kit.give(player)) {
+                if (online)
+                    sendInventoryFull(player, kit);
+                return refund(player, kit)
+                        .thenCompose(ignored -> OpenKits.Database.revertRedeemAsync(player.getUniqueId(), result));
             }
 
-            if (kit.Price > 0 && !EconomyUtils.has(player, kit.Price)) {
-                OpenKits.Instance.sendLocalizedMsg(player, "Commands.Get.NoMoney", new HashMap<>() {{
+            OpenKits.Instance.sendLocalizedMsg(player, "Commands.Get.Purchase", new HashMap<>() {{
+                put("kit", kit.Name);
+                put("price", String.format("%.2f", kit.Price));
+            }});
+            return CompletableFuture.<Void>completedFuture(null);
+        }, StorageExecutor.mainThread());
+    }
+
+    /**
+     * Gives the price of a kit back to a player who paid but did not get the kit.
+     * A failed refund is logged and told to the player, as it has to be made manually.
+     *
+     * @param player the player redeeming the kit
+     * @param kit    the kit to redeem
+     * @return a future completed on the main thread when the refund has been tried
+     */
+    private CompletableFuture<Void> refund(Player player, Kit kit) {
+        return EconomyUtils.depositAsync(player, kit.Price).handleAsync((refunded, ex) -> {
+            if (ex == null && Boolean.TRUE.equals(refunded))
+                return null;
+
+            _logger.error(String.format("Failed to refund %.2f to %s (%s) for the '%s' kit, it has to be refunded manually.%s",
+                    kit.Price, player.getName(), player.getUniqueId(), kit.Name, ex == null ? "" : "\n" + ex.getMessage()));
+            if (player.isOnline()) {
+                OpenKits.Instance.sendLocalizedMsg(player, "Commands.Get.RefundFailed", new HashMap<>() {{
                     put("kit", kit.Name);
+                    put("price", String.format("%.2f", kit.Price));
                 }});
-                return true;
             }
+            return null;
+        }, StorageExecutor.mainThread());
+    }
 
-            kit.give(player);
-            if (cooldown == null)
-                OpenKits.Database.addKitCooldown(player.getUniqueId(), kit.Id, LocalDateTime.now().plusSeconds(kit.Cooldown));
-            else
-                OpenKits.Database.updateKitCooldown(player.getUniqueId(), kit.Id, LocalDateTime.now().plusSeconds(kit.Cooldown));
+    /**
+     * Tells the player that the kit does not fit into the inventory.
+     *
+     * @param player the player redeeming the kit
+     * @param kit    the kit to redeem
+     */
+    private void sendInventoryFull(Player player, Kit kit) {
+        OpenKits.Instance.sendLocalizedMsg(player, "Commands.Get.InventoryFull", new HashMap<>() {{
+            put("kit", kit.Name);
+        }});
+    }
 
-            if (kit.Price > 0) {
-                EconomyUtils.withdraw(player, kit.Price);
-                OpenKits.Instance.sendLocalizedMsg(player, "Commands.Get.Purchase", new HashMap<>() {{
+    /**
+     * Tells the player why the kit could not be claimed.
+     *
+     * @param player the player redeeming the kit
+     * @param kit    the kit to redeem
+     * @param result the refused result of the claim
+     */
+    private void sendRedeemFailure(Player player, Kit kit, RedeemResult result) {
+        switch (result.Status) {
+            case ON_COOLDOWN -> {
+                Duration duration = Duration.ofMillis(Math.max(0, result.ExpiresAt - System.currentTimeMillis()));
+                OpenKits.Instance.sendLocalizedMsg(player, "Commands.Get.Cooldown", new HashMap<>() {{
                     put("kit", kit.Name);
-                    put("price", String.format("%.2f", kit.Price));
+                    put("time", String.format("%02d:%02d:%02d", duration.toHoursPart(), duration.toMinutesPart(), duration.toSecondsPart()));
                 }});
-                return true;
             }
-
-            OpenKits.Instance.sendLocalizedMsg(player, "Commands.Get.Success", new HashMap<>() {{
+            case ONE_TIME -> OpenKits.Instance.sendLocalizedMsg(player, "Commands.Get.OneTime", new HashMap<>() {{
                 put("kit", kit.Name);
             }});
-            //#endregion
-        } catch (Exception ex) {
-            OpenKits.Instance.sendLocalizedMsg(player, "Commands.UnknownError");
-            _logger.warn("Error while executing kits command:");
-            _logger.error(ex.getMessage());
+            case KIT_NOT_FOUND -> OpenKits.Instance.sendLocalizedMsg(player, "General.KitNotFound", new HashMap<>() {{
+                put("kit", kit.Name);
+            }});
+            default -> OpenKits.Instance.sendLocalizedMsg(player, "Commands.UnknownError");
         }
+    }
 
-        return true;
+    /**
+     * Sends the live statistics of the storage to the player.
+     *
+     * @param player the player to send the statistics to
+     */
+    private void sendStats(Player player) {
+        StorageStatistics stats = OpenKits.Database.getStatistics();
+        OpenKits.Instance.sendLocalizedMsg(player, "Commands.Stats.Title", new HashMap<>() {{
+            put("type", stats.StorageType);
+        }});
+        OpenKits.Instance.sendRichMsg(player, OpenKits.Instance.localize(player, "Commands.Stats.Pool", new HashMap<>() {{
+            put("active", stats.ActiveConnections);
+            put("idle", stats.IdleConnections);
+            put("total", stats.TotalConnections);
+            put("max", stats.MaximumPoolSize);
+            put("waiting", stats.ThreadsAwaitingConnection);
+        }}));
+        OpenKits.Instance.sendRichMsg(player, OpenKits.Instance.localize(player, "Commands.Stats.Acquire", new HashMap<>() {{
+            put("count", stats.AcquireCount);
+            put("average", String.format("%.2f", stats.AverageAcquireMillis));
+            put("max", String.format("%.2f", stats.MaxAcquireMillis));
+            put("timeouts", stats.TimeoutCount);
+        }}));
+        OpenKits.Instance.sendRichMsg(player, OpenKits.Instance.localize(player, "Commands.Stats.Writes", new HashMap<>() {{
+            put("queued", stats.QueuedWrites);
+        }}));
+
+        long lastRunAt = CooldownPurgeTask.getLastRunAt();
+        String lastRun = lastRunAt == 0
+                ? OpenKits.Instance.localize(player, "Commands.Common.None")
+                : OpenKits.Instance.localize(player, "Commands.Stats.SecondsAgo", new HashMap<>() {{
+                    put("seconds", Math.max(0, (System.currentTimeMillis() - lastRunAt) / 1000));
+                }});
+        OpenKits.Instance.sendRichMsg(player, OpenKits.Instance.localize(player, "Commands.Stats.Purge", new HashMap<>() {{
+            put("purged", CooldownPurgeTask.getPurgedCount());
+            put("runs", CooldownPurgeTask.getRunCount());
+            put("last", lastRun);
+        }}));
     }
 
     private final List<SubCommandData> _subCommands = new ArrayList<>() {
@@ -873,6 +1088,11 @@ public class CommandKit implements CommandExecutor {
                 put("syntax", null);
                 put("description", "Commands.Reload.Desc");
             }}));
+            // STATS
+            add(new SubCommandData("stats", "openkits.commands.kit.stats", new HashMap<>() {{
+                put("syntax", null);
+                put("description", "Commands.Stats.Desc");
+            }}));
             // LIST
             add(new SubCommandData("list", "openkits.commands.kit.list", new HashMap<>() {{
                 put("syntax", "Commands.List.Syntax");
@@ -898,6 +1118,11 @@ public class CommandKit implements CommandExecutor {
                 put("syntax", null);
                 put("description", "Commands.Gui.Desc");
             }}));
+            // CLAIM
+            add(new SubCommandData("claim", "openkits.commands.kit.claim", new HashMap<>() {{
+                put("syntax", null);
+                put("description", "Commands.Claim.Desc");
+            }}));
             // CREATE
             add(new SubCommandData("create", "openkits.commands.kit.create", new HashMap<>() {{
                 put("syntax", "Commands.Create.Syntax");
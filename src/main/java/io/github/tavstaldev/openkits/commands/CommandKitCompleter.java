@@ -35,6 +35,8 @@ public class CommandKitCompleter implements TabCompleter {
                     commandList.add("version");
                     if (player.hasPermission("openkits.commands.kit.reload"))
                         commandList.add("reload");
+                    if (player.hasPermission("openkits.commands.kit.stats"))
+                        commandList.add("stats");
                     if (player.hasPermission("openkits.commands.kit.list"))
                         commandList.add("list");
                     if (player.hasPermission("openkits.commands.kit.info"))
@@ -43,6 +45,8 @@ public class CommandKitCompleter implements TabCompleter {
                         commandList.add("give");
                     if (player.hasPermission("openkits.commands.kit.gui"))
                         commandList.add("gui");
+                    if (player.hasPermission("openkits.commands.kit.claim"))
+                        commandList.add("claim");
                     if (player.hasPermission("openkits.commands.kit.create"))
                         commandList.add("create");
                     if (player.hasPermission("openkits.commands.kit.delete"))
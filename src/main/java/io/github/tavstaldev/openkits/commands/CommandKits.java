@@ -3,8 +3,9 @@ package io.github.tavstaldev.openkits.commands;
 import io.github.tavstaldev.minecorelib.core.PluginLogger;
 import io.github.tavstaldev.minecorelib.utils.ChatUtils;
 import io.github.tavstaldev.openkits.OpenKits;
+import io.github.tavstaldev.openkits.managers.StorageExecutor;
+import io.github.tavstaldev.openkits.models.IDatabase;
 import io.github.tavstaldev.openkits.models.Kit;
-import io.github.tavstaldev.openkits.models.KitCooldown;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
@@ -13,7 +14,7 @@ import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 
 import java.time.Duration;
-import java.time.LocalDateTime;
+import java.util.List;
 
 public class CommandKits implements CommandExecutor {
     private final PluginLogger _logger = OpenKits.logger().withModule(CommandKits.class);
@@ -31,10 +32,32 @@ public class CommandKits implements CommandExecutor {
             return true;
         }
 
+        OpenKits.Database.loadKitCooldownsAsync(player.getUniqueId())
+                .thenRunAsync(() -> {
+                    if (player.isOnline())
+                        sendKits(player, OpenKits.Database.getKits());
+                }, StorageExecutor.mainThread())
+                .exceptionally(ex -> {
+                    _logger.warn("Error while listing kits:");
+                    _logger.error(ex.getMessage());
+                    return null;
+                });
+
+        return true;
+    }
+
+    /**
+     * Sends the list of kits to the player.
+     * The cooldowns of the player must already be loaded, they are only read from memory here.
+     *
+     * @param player  the player to send the list to
+     * @param kitList the kits to list
+     */
+    private void sendKits(Player player, List<Kit> kitList) {
         String message = OpenKits.Instance.localize(player, "Commands.Kits.Format");
         StringBuilder kits = new StringBuilder();
 
-        for (Kit kit : OpenKits.Database.getKits()) {
+        for (Kit kit : kitList) {
             if (!kits.toString().isBlank()) {
                 kits.append(OpenKits.Instance.localize(player,"Commands.Kits.Separator"));
             }
@@ -45,9 +68,9 @@ public class CommandKits implements CommandExecutor {
                 continue;
             }
 
-            KitCooldown cooldown = OpenKits.Database.findKitCooldown(player.getUniqueId(), kit.Id);
-            if (cooldown != null) {
-                Duration duration = Duration.between(LocalDateTime.now(), cooldown.End);
+            long expiresAt = OpenKits.Database.peekCooldownExpiry(player.getUniqueId(), kit.Id);
+            if (expiresAt != IDatabase.NO_COOLDOWN) {
+                Duration duration = Duration.ofMillis(expiresAt - System.currentTimeMillis());
                 if (duration.getSeconds() > 0) {
                     kits.append(OpenKits.Instance.localize(player,"Commands.Kits.CooldownKit")
                             .replace("%kit%", kit.Name)
@@ -68,8 +91,6 @@ public class CommandKits implements CommandExecutor {
 
         OpenKits.Instance.sendRichMsg(player, message
                 .replace("%kits%", kits.toString())
-                .replace("%count%", String.valueOf(OpenKits.Database.getKits().size())));
-
-        return true;
+                .replace("%count%", String.valueOf(kitList.size())));
     }
 }
@@ -3,12 +3,17 @@ package io.github.tavstaldev.openkits.events;
 import io.github.tavstaldev.minecorelib.core.PluginLogger;
 import io.github.tavstaldev.openkits.OpenKits;
 import io.github.tavstaldev.openkits.managers.PlayerCacheManager;
-import io.github.tavstaldev.openkits.models.Kit;
+import io.github.tavstaldev.openkits.managers.StorageExecutor;
 import io.github.tavstaldev.openkits.models.PlayerCache;
+import io.github.tavstaldev.openkits.utils.EconomyUtils;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.inventory.InventoryOpenEvent;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 
@@ -27,6 +32,22 @@ public class PlayerEventListener implements Listener {
         _logger.debug("Event listener registered.");
     }
 
+    /**
+     * Loads the cooldowns of a player while they are logging in.
+     * The event is called off the main thread, so the first kit interaction after joining is served from memory.
+     *
+     * @param event The AsyncPlayerPreLoginEvent triggered when a player is logging in.
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onAsyncPlayerPreLogin(AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED)
+            return;
+
+        // Released after the grace period if the player never finishes joining, the join unmarks them
+        PlayerCacheManager.markForRemoval(event.getUniqueId());
+        OpenKits.Database.loadKitCooldowns(event.getUniqueId());
+    }
+
     /**
      * Handles the event when a player joins the server for the first time.
      *
@@ -37,8 +58,7 @@ public class PlayerEventListener implements Listener {
         Player player = event.getPlayer();
         var playerId = player.getUniqueId();
 
-        if (PlayerCacheManager.isMarkedForRemoval(playerId))
-            PlayerCacheManager.unmarkForRemoval(playerId);
+        PlayerCacheManager.unmarkForRemoval(playerId);
 
         if (PlayerCacheManager.get(playerId) == null) {
             PlayerCache playerCache = new PlayerCache(player);
@@ -52,16 +72,50 @@ public class PlayerEventListener implements Listener {
         if (kitName == null || kitName.isEmpty())
             return;
 
-        Kit kit = OpenKits.Database.findKit(kitName);
-        if (kit == null)
-            return;
+        OpenKits.Database.findKitAsync(kitName).thenAcceptAsync(kit -> {
+            if (kit == null || !player.isOnline())
+                return;
 
-        kit.give(player);
+            kit.give(player);
+        }, StorageExecutor.mainThread());
     }
 
     @EventHandler
     public void onPlayerLeave(PlayerQuitEvent event) {
         Player player = event.getPlayer();
         PlayerCacheManager.markForRemoval(player.getUniqueId());
+        EconomyUtils.forgetBalance(player.getUniqueId());
+
+        // The menus are not needed during the grace period
+        PlayerCache playerCache = PlayerCacheManager.get(player.getUniqueId());
+        if (playerCache != null)
+            playerCache.markMenusIdle(System.currentTimeMillis());
+    }
+
+    /**
+     * Keeps the menus of a player while one of them is open.
+     *
+     * @param event The InventoryOpenEvent triggered when a player opens an inventory.
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onInventoryOpen(InventoryOpenEvent event) {
+        PlayerCache playerCache = PlayerCacheManager.get(event.getPlayer().getUniqueId());
+        if (playerCache != null && playerCache.isMenu(event.getInventory().getHolder()))
+            playerCache.markMenusInUse();
+    }
+
+    /**
+     * Schedules the release of the menus of a player after the idle time set in the configuration.
+     *
+     * @param event The InventoryCloseEvent triggered when a player closes an inventory.
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onInventoryClose(InventoryCloseEvent event) {
+        PlayerCache playerCache = PlayerCacheManager.get(event.getPlayer().getUniqueId());
+        if (playerCache == null || !playerCache.isMenu(event.getInventory().getHolder()))
+            return;
+
+        long idleTime = Math.max(0, OpenKits.config().getLong("gui.menuIdleTime", 30));
+        playerCache.markMenusIdle(System.currentTimeMillis() + idleTime * 1000);
     }
 }
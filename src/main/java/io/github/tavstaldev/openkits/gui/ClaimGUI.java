@@ -0,0 +1,324 @@
+package io.github.tavstaldev.openkits.gui;
+
+import com.samjakob.spigui.buttons.SGButton;
+import com.samjakob.spigui.menu.SGMenu;
+import io.github.tavstaldev.minecorelib.core.GuiDupeDetector;
+import io.github.tavstaldev.minecorelib.core.PluginLogger;
+import io.github.tavstaldev.minecorelib.utils.GuiUtils;
+import io.github.tavstaldev.openkits.OpenKits;
+import io.github.tavstaldev.openkits.managers.PlayerCacheManager;
+import io.github.tavstaldev.openkits.managers.PlayerTaskQueue;
+import io.github.tavstaldev.openkits.managers.StorageExecutor;
+import io.github.tavstaldev.openkits.models.ClaimItem;
+import io.github.tavstaldev.openkits.models.PlayerCache;
+import io.github.tavstaldev.openkits.utils.GrantPlanner;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.persistence.PersistentDataType;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Represents the Claim GUI for the OpenKits plugin.
+ * Shows the items of the claim box of a player, the items of kits that did not fit into the inventory.
+ * The items are removed from the database before they are given, so an item can only be taken out once.
+ */
+public class ClaimGUI {
+    private static final PluginLogger _logger = OpenKits.logger().withModule(ClaimGUI.class);
+    // Only one claim per player is handled at a time, clicks made meanwhile are ignored
+    private static final PlayerTaskQueue _claimQueue = new PlayerTaskQueue(1);
+    private static final int PageSize = 28;
+    private static final Integer[] SlotPlaceholders = {
+            0,  1,  2,  3,  4,  5,  6,  7,  8,
+            9,                              17,
+            18,                             26,
+            27,                             35,
+            36,                             44,
+                46, 47,             51, 52
+    };
+
+    /**
+     * Creates the Claim GUI for the specified player.
+     *
+     * @param player The player for whom the GUI is being created.
+     * @return The created SGMenu instance.
+     */
+    public static SGMenu create(@NotNull Player player) {
+        try {
+            SGMenu menu = OpenKits.gui().create(OpenKits.Instance.localize(player, "GUI.ClaimTitle"), 6);
+
+            // Create Placeholders
+            SGButton placeholderButton = new SGButton(GuiUtils.createItem(OpenKits.Instance, Material.BLACK_STAINED_GLASS_PANE, " "));
+            for (Integer slot : SlotPlaceholders) {
+                menu.setButton(0, slot, placeholderButton);
+            }
+
+            // Close Button
+            SGButton closeButton = new SGButton(
+                    GuiUtils.createItem(OpenKits.Instance, Material.BARRIER, OpenKits.Instance.localize(player, "GUI.Close")))
+                    .withListener((InventoryClickEvent event) -> close(player));
+            menu.setButton(0, 45, closeButton);
+
+            // Previous Page Button
+            SGButton prevPageButton = new SGButton(
+                    GuiUtils.createItem(OpenKits.Instance, Material.ARROW, OpenKits.Instance.localize(player, "GUI.PreviousPage")))
+                    .withListener((InventoryClickEvent event) -> {
+                        PlayerCache playerCache = PlayerCacheManager.get(player.getUniqueId());
+                        if (playerCache.getClaimPage() - 1 <= 0)
+                            return;
+                        playerCache.setClaimPage(playerCache.getClaimPage() - 1);
+                        refresh(player);
+                    });
+            menu.setButton(0, 48, prevPageButton);
+
+            // Page Indicator
+            SGButton pageButton = new SGButton(
+                    GuiUtils.createItem(OpenKits.Instance, Material.PAPER, OpenKits.Instance.localize(player, "GUI.Page").replace("%page%", "1"))
+            );
+            menu.setButton(0, 49, pageButton);
+
+            // Next Page Button
+            SGButton nextPageButton = new SGButton(
+                    GuiUtils.createItem(OpenKits.Instance, Material.ARROW, OpenKits.Instance.localize(player, "GUI.NextPage")))
+                    .withListener((InventoryClickEvent event) -> {
+                        PlayerCache playerCache = PlayerCacheManager.get(player.getUniqueId());
+                        if (playerCache.getClaimPage() + 1 > getMaxPage(playerCache))
+                            return;
+                        playerCache.setClaimPage(playerCache.getClaimPage() + 1);
+                        refresh(player);
+                    });
+            menu.setButton(0, 50, nextPageButton);
+
+            // Claim All Button
+            SGButton claimAllButton = new SGButton(
+                    GuiUtils.createItem(OpenKits.Instance, Material.HOPPER, OpenKits.Instance.localize(player, "GUI.ClaimAll")))
+                    .withListener((InventoryClickEvent event) -> claimAll(player));
+            menu.setButton(0, 53, claimAllButton);
+            return menu;
+        }
+        catch (Exception ex) {
+            _logger.error("An error occurred while creating the Claim GUI.");
+            _logger.error(ex);
+            return null;
+        }
+    }
+
+    /**
+     * Opens the Claim GUI for the specified player.
+     * The items are loaded on the storage executor, the GUI is opened on the main thread if there is anything to claim.
+     *
+     * @param player The player for whom the GUI is being opened.
+     */
+    public static void open(@NotNull Player player) {
+        OpenKits.Database.getClaimItemsAsync(player.getUniqueId()).thenAcceptAsync(items -> {
+            if (!player.isOnline())
+                return;
+
+            if (items == null) {
+                OpenKits.Instance.sendLocalizedMsg(player, "Commands.UnknownError");
+                return;
+            }
+
+            if (items.isEmpty()) {
+                OpenKits.Instance.sendLocalizedMsg(player, "Commands.Claim.Empty");
+                return;
+            }
+
+            PlayerCache playerCache = PlayerCacheManager.get(player.getUniqueId());
+            playerCache.setClaimItems(items);
+            playerCache.setClaimPage(1);
+            playerCache.setGUIOpened(true);
+            refresh(player);
+        }, StorageExecutor.mainThread());
+    }
+
+    /**
+     * Closes the Claim GUI for the specified player.
+     *
+     * @param player The player for whom the GUI is being closed.
+     */
+    public static void close(@NotNull Player player) {
+        PlayerCache playerCache = PlayerCacheManager.get(player.getUniqueId());
+        player.closeInventory();
+        playerCache.setGUIOpened(false);
+    }
+
+    /**
+     * Refreshes the Claim GUI for the specified player from the last loaded items.
+     *
+     * @param player The player for whom the GUI is being refreshed.
+     */
+    public static void refresh(@NotNull Player player) {
+        try {
+            PlayerCache playerCache = PlayerCacheManager.get(player.getUniqueId());
+            SGMenu menu = playerCache.getClaimMenu();
+            int page = Math.min(playerCache.getClaimPage(), getMaxPage(playerCache));
+            playerCache.setClaimPage(page);
+            SGButton pageButton = new SGButton(
+                    GuiUtils.createItem(OpenKits.Instance, Material.PAPER, OpenKits.Instance.localize(player, "GUI.Page")
+                            .replace("%page%", String.valueOf(page)))
+            );
+            menu.setButton(0, 49, pageButton);
+
+            List<ClaimItem> items = playerCache.getClaimItems();
+            for (int i = 0; i < PageSize; i++) {
+                int index = i + (page - 1) * PageSize;
+                int slot = i + 10 + (2 * (i / 7));
+                if (index >= items.size()) {
+                    menu.removeButton(0, slot);
+                    continue;
+                }
+
+                ClaimItem claimItem = items.get(index);
+                ItemStack itemStack = claimItem.Item.clone();
+                var meta = itemStack.getItemMeta();
+                if (meta != null) {
+                    meta.getPersistentDataContainer().set(GuiDupeDetector.getDupeProtectedKey(), PersistentDataType.BOOLEAN, true);
+                    itemStack.setItemMeta(meta);
+                }
+
+                menu.setButton(0, slot, new SGButton(itemStack)
+                        .withListener((InventoryClickEvent event) -> claim(player, List.of(claimItem))));
+            }
+            MenuUpdater.show(player, menu);
+        }
+        catch (Exception ex) {
+            _logger.error("An error occurred while refreshing the Claim GUI.");
+            _logger.error(ex);
+        }
+    }
+
+    /**
+     * Claims every item that fits into the inventory of the player, oldest first.
+     *
+     * @param player The player claiming the items.
+     */
+    private static void claimAll(@NotNull Player player) {
+        PlayerCache playerCache = PlayerCacheManager.get(player.getUniqueId());
+        ItemStack[] contents = player.getInventory().getStorageContents();
+        List<ClaimItem> fitting = new ArrayList<>();
+        for (ClaimItem claimItem : playerCache.getClaimItems()) {
+            GrantPlanner.Plan plan = GrantPlanner.plan(contents, List.of(claimItem.Item));
+            if (!plan.fits())
+                continue;
+
+            contents = plan.contents();
+            fitting.add(claimItem);
+        }
+        claim(player, fitting);
+    }
+
+    /**
+     * Removes the items from the claim box and gives the removed ones to the player.
+     * Nothing is changed if the items do not fit into the inventory.
+     *
+     * @param player The player claiming the items.
+     * @param items  The items to claim.
+     */
+    private static void claim(@NotNull Player player, List<ClaimItem> items) {
+        if (items.isEmpty() || !GrantPlanner.plan(player, toStacks(items)).fits()) {
+            OpenKits.Instance.sendLocalizedMsg(player, "Commands.Claim.NoSpace");
+            return;
+        }
+
+        _claimQueue.submit(player.getUniqueId(), () -> OpenKits.Database.removeClaimItemsAsync(player.getUniqueId(), items)
+                .thenAcceptAsync(removed -> give(player, removed), StorageExecutor.mainThread())
+                .thenCompose(ignored -> reload(player)));
+    }
+
+    /**
+     * Gives the items removed from the claim box to the player.
+     * The items that no longer fit, or all of them if the player went offline, are stored again.
+     *
+     * @param player  The player claiming the items.
+     * @param removed The items removed from the claim box.
+     */
+    private static void give(@NotNull Player player, List<ClaimItem> removed) {
+        if (removed.isEmpty())
+            return;
+
+        List<ItemStack> stacks = toStacks(removed);
+        if (!player.isOnline()) {
+            store(player, stacks);
+            return;
+        }
+
+        GrantPlanner.Plan plan = GrantPlanner.plan(player, stacks);
+        GrantPlanner.apply(player, plan, false);
+        if (!plan.fits())
+            store(player, plan.overflow());
+
+        int claimed = GrantPlanner.count(stacks) - GrantPlanner.count(plan.overflow());
+        OpenKits.Instance.sendLocalizedMsg(player, "Commands.Claim.Claimed", Map.of("amount", claimed));
+    }
+
+    /**
+     * Stores items in the claim box of a player.
+     * If they cannot be stored, they are dropped at the player instead, so they are never lost.
+     *
+     * @param player The player owning the items.
+     * @param items  The items to store.
+     * @return A future completed on the main thread with true if the items were stored, false if they were dropped.
+     */
+    public static CompletableFuture<Boolean> store(@NotNull Player player, List<ItemStack> items) {
+        return OpenKits.Database.addClaimItemsAsync(player.getUniqueId(), items).handleAsync((stored, ex) -> {
+            if (ex == null && Boolean.TRUE.equals(stored))
+                return true;
+
+            // The last location is still known after the player left, the items are dropped there
+            _logger.warn(String.format("Failed to store %s claim items of %s, dropping them at %s.%s",
+                    GrantPlanner.count(items), player.getName(), player.getLocation(), ex == null ? "" : "\n" + ex.getMessage()));
+            GrantPlanner.drop(player, items);
+            if (player.isOnline())
+                OpenKits.Instance.sendLocalizedMsg(player, "Commands.Claim.Dropped", Map.of("amount", GrantPlanner.count(items)));
+            return false;
+        }, StorageExecutor.mainThread());
+    }
+
+    /**
+     * Reloads the items of the claim box and refreshes the GUI if the player is still looking at it.
+     *
+     * @param player The player whose claim box is reloaded.
+     * @return A future completed when the GUI has been refreshed.
+     */
+    private static CompletableFuture<Void> reload(@NotNull Player player) {
+        return OpenKits.Database.getClaimItemsAsync(player.getUniqueId()).thenAcceptAsync(items -> {
+            if (items == null || !player.isOnline())
+                return;
+
+            PlayerCache playerCache = PlayerCacheManager.get(player.getUniqueId());
+            playerCache.setClaimItems(items);
+            if (playerCache.isClaimMenu(player.getOpenInventory().getTopInventory().getHolder()))
+                refresh(player);
+        }, StorageExecutor.mainThread());
+    }
+
+    /**
+     * Gets the number of pages needed for the loaded items.
+     *
+     * @param playerCache The cache of the player.
+     * @return The number of pages, at least one.
+     */
+    private static int getMaxPage(PlayerCache playerCache) {
+        return Math.max(1, (playerCache.getClaimItems().size() + PageSize - 1) / PageSize);
+    }
+
+    /**
+     * Gets the stored stacks of claim items.
+     *
+     * @param items The claim items.
+     * @return The stacks.
+     */
+    private static List<ItemStack> toStacks(List<ClaimItem> items) {
+        List<ItemStack> stacks = new ArrayList<>(items.size());
+        for (ClaimItem item : items)
+            stacks.add(item.Item);
+        return stacks;
+    }
+}
@@ -0,0 +1,211 @@
+package io.github.tavstaldev.openkits.gui;
+
+import io.github.tavstaldev.minecorelib.utils.ChatUtils;
+import io.github.tavstaldev.minecorelib.utils.GuiUtils;
+import io.github.tavstaldev.openkits.OpenKits;
+import io.github.tavstaldev.openkits.models.Kit;
+import io.github.tavstaldev.openkits.utils.EconomyUtils;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches the rendered kit icons of the Kits GUI.
+ * The parts of an icon that are the same for every player (material, name and the localized lore) are rendered once
+ * per language and kept until the kit changes, only the lore lines with player specific placeholders are rendered per player.
+ */
+public class KitIconCache {
+    // Lore lines containing these placeholders are rendered for every player
+    private static final String[] PlayerPlaceholders = { "%canget%", "%remaining%" };
+    private static final Map<Templates, Map<Long, RenderedIcon>> _icons = new ConcurrentHashMap<>();
+
+    /**
+     * The localized texts an icon is rendered from. Players with the same language share the same templates.
+     *
+     * @param name             the name template of the icon
+     * @param lore             the lore templates of the icon
+     * @param yesText          the localized text of true values
+     * @param noText           the localized text of false values
+     * @param freeText         the localized price of free kits
+     * @param noRemainingText  the localized remaining time of kits that are not on cooldown
+     * @param currencySingular the singular currency name
+     * @param currencyPlural   the plural currency name
+     */
+    public record Templates(String name, List<String> lore, String yesText, String noText, String freeText,
+                            String noRemainingText, String currencySingular, String currencyPlural) {
+        /**
+         * Localizes the templates for a player.
+         *
+         * @param player the player viewing the icons
+         * @return the templates in the language of the player
+         */
+        public static Templates of(Player player) {
+            String currencySingular = EconomyUtils.currencyNameSingular();
+            String currencyPlural = EconomyUtils.currencyNamePlural();
+            return new Templates(
+                    OpenKits.Instance.localize(player, "GUI.KitName"),
+                    List.copyOf(OpenKits.Instance.localizeList(player, "GUI.KitLore")),
+                    OpenKits.Instance.localize(player, "Commands.Common.YesText"),
+                    OpenKits.Instance.localize(player, "Commands.Common.NoText"),
+                    OpenKits.Instance.localize(player, "Commands.Common.Free"),
+                    OpenKits.Instance.localize(player, "GUI.KitNoRemaining"),
+                    currencySingular == null ? OpenKits.Instance.localize("General.CurrencySingular") : currencySingular,
+                    currencyPlural == null ? OpenKits.Instance.localize("General.CurrencyPlural") : currencyPlural
+            );
+        }
+    }
+
+    /**
+     * The fields of a kit an icon was rendered from, used to notice changes of the kit.
+     */
+    private record Snapshot(String name, Material icon, Double price, long cooldown, boolean isOneTime, boolean enable) {
+        /**
+         * Takes a snapshot of the displayed fields of a kit.
+         *
+         * @param kit the kit to snapshot
+         * @return the snapshot
+         */
+        static Snapshot of(Kit kit) {
+            return new Snapshot(kit.Name, kit.getIcon(), kit.Price, kit.Cooldown, kit.IsOneTime, kit.Enable);
+        }
+    }
+
+    /**
+     * A rendered icon with the lore lines that still have to be rendered for each player.
+     *
+     * @param snapshot     the kit fields the icon was rendered from
+     * @param stack        the rendered icon, shared and must not be modified
+     * @param lore         the rendered lore
+     * @param playerLines  the lore templates with player specific placeholders by line index
+     */
+    private record RenderedIcon(Snapshot snapshot, ItemStack stack, List<Component> lore, Map<Integer, String> playerLines) {}
+
+    /**
+     * Gets the icon of a kit for a player, rendering the shared parts only if the kit or the templates changed.
+     * The returned stack must not be modified.
+     *
+     * @param templates the templates in the language of the player
+     * @param kit       the kit to display
+     * @param canGet    whether the player can get the kit
+     * @param remaining the remaining cooldown of the player, already formatted
+     * @return the icon
+     */
+    public static ItemStack get(Templates templates, Kit kit, boolean canGet, String remaining) {
+        Map<Long, RenderedIcon> icons = _icons.computeIfAbsent(templates, key -> new ConcurrentHashMap<>());
+        Snapshot snapshot = Snapshot.of(kit);
+        RenderedIcon icon = icons.get(kit.Id);
+        if (icon == null || !icon.snapshot().equals(snapshot)) {
+            icon = render(templates, kit, snapshot);
+            icons.put(kit.Id, icon);
+        }
+
+        if (icon.playerLines().isEmpty())
+            return icon.stack();
+
+        List<Component> lore = new ArrayList<>(icon.lore());
+        String canGetText = canGet ? templates.yesText() : templates.noText();
+        for (Map.Entry<Integer, String> line : icon.playerLines().entrySet()) {
+            lore.set(line.getKey(), ChatUtils.translateColors(line.getValue()
+                    .replace("%canget%", canGetText)
+                    .replace("%remaining%", remaining), true));
+        }
+
+        ItemStack stack = icon.stack().clone();
+        var meta = stack.getItemMeta();
+        if (meta != null) {
+            meta.lore(lore);
+            stack.setItemMeta(meta);
+        }
+        return stack;
+    }
+
+    /**
+     * Formats the remaining cooldown of a player for the %remaining% placeholder.
+     *
+     * @param templates the templates in the language of the player
+     * @param expiresAt the expiry of the cooldown in epoch milliseconds, or {@link io.github.tavstaldev.openkits.models.IDatabase#NO_COOLDOWN}
+     * @param now       the current time in epoch milliseconds
+     * @return the remaining time, or the localized text of kits that are not on cooldown
+     */
+    public static String formatRemaining(Templates templates, long expiresAt, long now) {
+        if (expiresAt <= now)
+            return templates.noRemainingText();
+
+        // Rounded up, so the countdown never shows zero while the kit is still on cooldown
+        long seconds = (expiresAt - now + 999) / 1000;
+        return String.format("%02d:%02d:%02d", seconds / 3600, (seconds % 3600) / 60, seconds % 60);
+    }
+
+    /**
+     * Forgets every rendered icon, used when the localizations or the configuration are reloaded.
+     */
+    public static void clear() {
+        _icons.clear();
+    }
+
+    /**
+     * Forgets the rendered icons of a kit in every language, used when the kit is replaced or removed.
+     *
+     * @param kitId the unique identifier of the kit
+     */
+    public static void remove(long kitId) {
+        for (Map<Long, RenderedIcon> icons : _icons.values())
+            icons.remove(kitId);
+    }
+
+    /**
+     * Renders the parts of an icon that are the same for every player.
+     *
+     * @param templates the templates to render
+     * @param kit       the kit to display
+     * @param snapshot  the snapshot of the kit
+     * @return the rendered icon
+     */
+    private static RenderedIcon render(Templates templates, Kit kit, Snapshot snapshot) {
+        long hours = kit.Cooldown / 3600;
+        long minutes = (kit.Cooldown % 3600) / 60;
+        long remainingSeconds = kit.Cooldown % 60;
+
+        List<Component> lore = new ArrayList<>();
+        Map<Integer, String> playerLines = new HashMap<>();
+        for (String rawLore : templates.lore()) {
+            String line = rawLore
+                    .replace("%enabled%", kit.Enable ? templates.yesText() : templates.noText())
+                    .replace("%price%", kit.Price == 0 ? templates.freeText() : String.format("%.2f", kit.Price))
+                    .replace("%cooldown%", String.format("%02d:%02d:%02d", hours, minutes, remainingSeconds))
+                    .replace("%onetime%", kit.IsOneTime ? templates.yesText() : templates.noText())
+                    .replace("%currency_singular%", kit.Price == 0 ? "" : templates.currencySingular())
+                    .replace("%currency_plural%", kit.Price == 0 ? "" : templates.currencyPlural());
+
+            if (hasPlayerPlaceholder(line))
+                playerLines.put(lore.size(), line);
+            lore.add(ChatUtils.translateColors(line, true));
+        }
+
+        ItemStack stack = GuiUtils.createItem(OpenKits.Instance, Objects.requireNonNullElse(snapshot.icon(), Material.STONE),
+                templates.name().replace("%kit%", kit.Name), lore);
+        return new RenderedIcon(snapshot, stack, List.copyOf(lore), Map.copyOf(playerLines));
+    }
+
+    /**
+     * Checks whether a lore line has to be rendered for each player.
+     *
+     * @param line the lore line
+     * @return true if the line contains a player specific placeholder
+     */
+    private static boolean hasPlayerPlaceholder(String line) {
+        for (String placeholder : PlayerPlaceholders) {
+            if (line.contains(placeholder))
+                return true;
+        }
+        return false;
+    }
+}
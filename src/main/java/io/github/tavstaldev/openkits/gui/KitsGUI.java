@@ -3,17 +3,17 @@ package io.github.tavstaldev.openkits.gui;
 import com.samjakob.spigui.buttons.SGButton;
 import com.samjakob.spigui.menu.SGMenu;
 import io.github.tavstaldev.minecorelib.core.PluginLogger;
-import io.github.tavstaldev.minecorelib.utils.ChatUtils;
 import io.github.tavstaldev.minecorelib.utils.GuiUtils;
 import io.github.tavstaldev.openkits.OpenKits;
 import io.github.tavstaldev.openkits.managers.PlayerCacheManager;
+import io.github.tavstaldev.openkits.managers.StorageExecutor;
 import io.github.tavstaldev.openkits.models.Kit;
 import io.github.tavstaldev.openkits.models.PlayerCache;
-import io.github.tavstaldev.openkits.utils.EconomyUtils;
-import net.kyori.adventure.text.Component;
+import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.NotNull;
 
@@ -25,6 +25,8 @@ import java.util.*;
  */
 public class KitsGUI {
     private static final PluginLogger _logger = OpenKits.logger().withModule(KitsGUI.class);
+    // The kit slots of the players looking at the GUI, only accessed on the main thread
+    private static final Map<UUID, Map<Integer, KitSlot>> _viewers = new HashMap<>();
 
     private static final Integer[] SlotPlaceholders = {
             0,  1,  2,  3,  4,  5,  6,  7,  8,
@@ -35,6 +37,17 @@ public class KitsGUI {
                 46, 47,             51, 52, 53
     };
 
+    /**
+     * A kit shown in a slot, together with the player specific values its icon was rendered with.
+     *
+     * @param kit       the displayed kit
+     * @param templates the templates in the language of the player
+     * @param expiresAt the cooldown expiry the icon was rendered with
+     * @param remaining the remaining cooldown the icon was rendered with
+     * @param canGet    whether the player could get the kit when the icon was rendered
+     */
+    private record KitSlot(Kit kit, KitIconCache.Templates templates, long expiresAt, String remaining, boolean canGet) {}
+
     /**
      * Creates the Kits GUI for the specified player.
      *
@@ -123,78 +136,125 @@ public class KitsGUI {
 
     /**
      * Refreshes the Kits GUI for the specified player.
+     * The cooldowns of the player are loaded on the storage executor, the GUI is updated on the main thread.
      *
      * @param player The player for whom the GUI is being refreshed.
      */
     public static void refresh(@NotNull Player player) {
+        OpenKits.Database.loadKitCooldownsAsync(player.getUniqueId())
+                .thenRunAsync(() -> {
+                    if (player.isOnline())
+                        render(player, OpenKits.Database.getKits());
+                }, StorageExecutor.mainThread())
+                .exceptionally(ex -> {
+                    _logger.error("An error occurred while loading the Kits GUI data.");
+                    _logger.error(ex);
+                    return null;
+                });
+    }
+
+    /**
+     * Renders the kit buttons of the current page.
+     * The cooldowns of the player must already be loaded, kits of a player that is not loaded are shown without cooldown.
+     *
+     * @param player The player for whom the GUI is being rendered.
+     * @param kits   The kits to display.
+     */
+    private static void render(@NotNull Player player, @NotNull List<Kit> kits) {
         try {
             PlayerCache playerCache = PlayerCacheManager.get(player.getUniqueId());
+            SGMenu menu = playerCache.getKitsMenu();
             SGButton pageButton = new SGButton(
                     GuiUtils.createItem(OpenKits.Instance, Material.PAPER, OpenKits.Instance.localize(player, "GUI.Page")
                             .replace("%page%", String.valueOf(playerCache.getKitsPage())))
             );
-            playerCache.getKitsMenu().setButton(0, 49, pageButton);
+            menu.setButton(0, 49, pageButton);
 
-            var kits = OpenKits.Database.getKits();
             int page = playerCache.getKitsPage();
-            String yesText = OpenKits.Instance.localize(player, "Commands.Common.YesText");
-            String noText = OpenKits.Instance.localize(player, "Commands.Common.NoText");
-            String freeText = OpenKits.Instance.localize(player, "Commands.Common.Free");
+            // Only the player specific lore lines are rendered here, the rest of the icons is cached
+            KitIconCache.Templates templates = KitIconCache.Templates.of(player);
+            Map<Integer, KitSlot> kitSlots = new HashMap<>();
+            long now = System.currentTimeMillis();
 
             for (int i = 0; i < 28; i++) {
                 int index = i + (page - 1) * 28;
                 int slot = i + 10 + (2 * (i / 7));
                 if (index >= kits.size()) {
-                    playerCache.getKitsMenu().removeButton(0, slot);
+                    menu.removeButton(0, slot);
                     continue;
                 }
 
                 Kit kit = kits.get(index);
-                List<Component> loreList = new ArrayList<>();
-
-                long hours = kit.Cooldown / 3600;
-                long minutes = (kit.Cooldown % 3600) / 60;
-                long remainingSeconds = kit.Cooldown % 60;
-
-                for (String rawLore : OpenKits.Instance.localizeList(player, "GUI.KitLore")) {
-                    String lore = rawLore
-                            .replace("%enabled%", kit.Enable ? yesText : noText)
-                            .replace("%price%", kit.Price == 0 ? freeText : String.format("%.2f", kit.Price))
-                            .replace("%cooldown%", String.format("%02d:%02d:%02d", hours, minutes, remainingSeconds))
-                            .replace("%onetime%", kit.IsOneTime ? yesText : noText)
-                            .replace("%canget%", kit.canGet(player) ? yesText : noText);
-
-                    if (lore.contains("%currency_singular%")) {
-                        String currencySingular = EconomyUtils.currencyNameSingular();
-                        lore = lore.replace("%currency_singular%", kit.Price == 0 ? "" : currencySingular == null ? OpenKits.Instance.localize("General.CurrencySingular") : currencySingular);
-                    }
-                    if (lore.contains("%currency_plural%")) {
-                        String currencyPlural = EconomyUtils.currencyNamePlural();
-                        lore = lore.replace("%currency_plural%", kit.Price == 0 ? "" : currencyPlural == null ? OpenKits.Instance.localize("General.CurrencyPlural") : currencyPlural);
-                    }
-                    loreList.add(ChatUtils.translateColors(lore, true));
-                }
-                ItemStack stack = GuiUtils.createItem(OpenKits.Instance, kit.getIcon(),
-                        OpenKits.Instance.localize(player, "GUI.KitName", new HashMap<>() {{
-                            put("kit", kit.Name);
-                        }}),
-                        loreList
-                );
-
-                playerCache.getKitsMenu().setButton(0, slot, new SGButton(stack).withListener((InventoryClickEvent event) -> {
-                    if (event.isLeftClick())
-                        player.performCommand("kit " + kit.Name);
-                    if (event.isRightClick()) {
-                        close(player);
-                        PreviewGUI.open(player, kit);
-                    }
-                }));
-                player.openInventory(playerCache.getKitsMenu().getInventory());
+                // Only reads the loaded cooldowns, a missing player must not cost a query per kit on the main thread
+                long expiresAt = OpenKits.Database.peekCooldownExpiry(player.getUniqueId(), kit.Id);
+                KitSlot kitSlot = new KitSlot(kit, templates, expiresAt,
+                        KitIconCache.formatRemaining(templates, expiresAt, now), kit.canGet(player, expiresAt));
+                menu.setButton(0, slot, createKitButton(player, kitSlot));
+                kitSlots.put(slot, kitSlot);
             }
+
+            MenuUpdater.show(player, menu);
+            _viewers.put(player.getUniqueId(), kitSlots);
         }
         catch (Exception ex) {
             _logger.error("An error occurred while refreshing the Kits GUI.");
             _logger.error(ex);
         }
     }
+
+    /**
+     * Updates the cooldowns shown to every player looking at the GUI, called once per second on the main thread.
+     * The expiries are read from memory and only the slots whose displayed values changed are sent to the client.
+     */
+    public static void tick() {
+        long now = System.currentTimeMillis();
+        var iterator = _viewers.entrySet().iterator();
+        while (iterator.hasNext()) {
+            var viewer = iterator.next();
+            Player player = Bukkit.getPlayer(viewer.getKey());
+            PlayerCache playerCache = player == null ? null : PlayerCacheManager.get(player.getUniqueId());
+            if (playerCache == null || !playerCache.isKitsMenu(player.getOpenInventory().getTopInventory().getHolder())) {
+                iterator.remove();
+                continue;
+            }
+
+            SGMenu menu = playerCache.getKitsMenu();
+            Inventory top = player.getOpenInventory().getTopInventory();
+            for (var entry : viewer.getValue().entrySet()) {
+                KitSlot kitSlot = entry.getValue();
+                long expiresAt = OpenKits.Database.peekCooldownExpiry(player.getUniqueId(), kitSlot.kit().Id);
+                String remaining = KitIconCache.formatRemaining(kitSlot.templates(), expiresAt, now);
+                if (expiresAt == kitSlot.expiresAt() && remaining.equals(kitSlot.remaining()))
+                    continue;
+
+                // A kit on cooldown cannot be taken, the full check is only needed when the cooldown ends or changes
+                boolean canGet = expiresAt <= now && kitSlot.kit().canGet(player, expiresAt);
+                KitSlot updated = new KitSlot(kitSlot.kit(), kitSlot.templates(), expiresAt, remaining, canGet);
+                SGButton button = createKitButton(player, updated);
+                menu.setButton(0, entry.getKey(), button);
+                top.setItem(entry.getKey(), button.getIcon());
+                entry.setValue(updated);
+            }
+        }
+    }
+
+    /**
+     * Creates the button of a kit slot.
+     *
+     * @param player  The player viewing the GUI.
+     * @param kitSlot The kit slot to display.
+     * @return The button.
+     */
+    private static SGButton createKitButton(@NotNull Player player, @NotNull KitSlot kitSlot) {
+        Kit kit = kitSlot.kit();
+        ItemStack stack = KitIconCache.get(kitSlot.templates(), kit, kitSlot.canGet(), kitSlot.remaining());
+        return new SGButton(stack).withListener((InventoryClickEvent event) -> {
+            if (event.isLeftClick())
+                player.performCommand("kit " + kit.Name);
+            if (event.isRightClick()) {
+                close(player);
+                PreviewGUI.open(player, kit);
+            }
+        });
+    }
 }
@@ -0,0 +1,55 @@
+package io.github.tavstaldev.openkits.gui;
+
+import com.samjakob.spigui.buttons.SGButton;
+import com.samjakob.spigui.menu.SGMenu;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * Pushes the buttons of a menu to the inventory a player has open.
+ * Instead of opening the inventory again, which sends the whole window to the client,
+ * the slots shown by the client are compared with the buttons of the menu and only the changed ones are set.
+ */
+public class MenuUpdater {
+    /**
+     * Shows the first page of a menu to a player.
+     * If the player is already looking at the menu, only the changed slots are updated, otherwise the menu is opened.
+     *
+     * @param player The player viewing the menu.
+     * @param menu   The menu to show.
+     * @return The number of updated slots, or -1 if the menu was opened.
+     */
+    public static int show(@NotNull Player player, @NotNull SGMenu menu) {
+        Inventory top = player.getOpenInventory().getTopInventory();
+        if (top.getHolder() != menu || top.getSize() != menu.getPageSize()) {
+            player.openInventory(menu.getInventory());
+            return -1;
+        }
+
+        int updated = 0;
+        for (int slot = 0; slot < top.getSize(); slot++) {
+            SGButton button = menu.getButton(0, slot);
+            ItemStack icon = button == null ? null : button.getIcon();
+            if (Objects.equals(icon, normalize(top.getItem(slot))))
+                continue;
+
+            top.setItem(slot, icon);
+            updated++;
+        }
+        return updated;
+    }
+
+    /**
+     * Treats air as an empty slot, so it compares equal to a missing button.
+     *
+     * @param stack The stack in the inventory.
+     * @return The stack, or null if the slot is empty.
+     */
+    private static ItemStack normalize(ItemStack stack) {
+        return stack == null || stack.getType().isAir() ? null : stack;
+    }
+}
@@ -2,7 +2,6 @@ package io.github.tavstaldev.openkits.gui;
 
 import com.samjakob.spigui.buttons.SGButton;
 import com.samjakob.spigui.menu.SGMenu;
-import io.github.tavstaldev.minecorelib.core.GuiDupeDetector;
 import io.github.tavstaldev.minecorelib.core.PluginLogger;
 import io.github.tavstaldev.minecorelib.utils.GuiUtils;
 import io.github.tavstaldev.openkits.OpenKits;
@@ -13,11 +12,9 @@ import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.persistence.PersistentDataType;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.HashMap;
-import java.util.List;
 
 /**
  * Represents the Preview GUI for the OpenKits plugin.
@@ -79,7 +76,7 @@ public class PreviewGUI {
                     GuiUtils.createItem(OpenKits.Instance, Material.ARROW, OpenKits.Instance.localize(player, "GUI.NextPage")))
                     .withListener((InventoryClickEvent event) -> {
                         PlayerCache playerCache = PlayerCacheManager.get(player.getUniqueId());
-                        int maxPage = 1 + (playerCache.getPreviewKit().getItems().size() / 28);
+                        int maxPage = 1 + (playerCache.getPreviewKit().getItemCount() / 28);
                         if (playerCache.getPreviewPage() + 1 > maxPage)
                             return;
                         playerCache.setPreviewPage(playerCache.getPreviewPage() + 1);
@@ -133,30 +130,27 @@ public class PreviewGUI {
     public static void refresh(@NotNull Player player) {
         try {
             PlayerCache playerCache = PlayerCacheManager.get(player.getUniqueId());
+            SGMenu menu = playerCache.getPreviewMenu();
             SGButton pageButton = new SGButton(
                     GuiUtils.createItem(OpenKits.Instance, Material.PAPER, OpenKits.Instance.localize(player, "GUI.Page")
                             .replace("%page%", String.valueOf(playerCache.getPreviewPage())))
             );
-            playerCache.getPreviewMenu().setButton(0, 49, pageButton);
+            menu.setButton(0, 49, pageButton);
 
-            List<ItemStack> items = playerCache.getPreviewKit().getItems();
+            // Shared by every viewer of the kit, the items are only marked again when the kit changes
+            ItemStack[] items = playerCache.getPreviewKit().getPreviewItems();
             int page = playerCache.getPreviewPage();
             for (int i = 0; i < 28; i++) {
                 int index = i + (page - 1) * 28;
                 int slot = i + 10 + (2 * (i / 7));
-                if (index >= items.size()) {
-                    playerCache.getPreviewMenu().removeButton(0, slot);
+                if (index >= items.length || items[index] == null) {
+                    menu.removeButton(0, slot);
                     continue;
                 }
 
-                ItemStack itemStack = items.get(index).clone();
-                var meta = itemStack.getItemMeta();
-                meta.getPersistentDataContainer().set(GuiDupeDetector.getDupeProtectedKey(), PersistentDataType.BOOLEAN, true);
-                itemStack.setItemMeta(meta);
-
-                playerCache.getPreviewMenu().setButton(0, slot, new SGButton(itemStack));
+                menu.setButton(0, slot, new SGButton(items[index]));
             }
-            player.openInventory(playerCache.getPreviewMenu().getInventory());
+            MenuUpdater.show(player, menu);
         }
         catch (Exception ex) {
             _logger.error("An error occurred while refreshing the Preview GUI.");
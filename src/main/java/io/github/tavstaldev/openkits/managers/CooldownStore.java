@@ -0,0 +1,174 @@
+package io.github.tavstaldev.openkits.managers;
+
+import io.github.tavstaldev.openkits.models.IDatabase;
+import io.github.tavstaldev.openkits.models.KitCooldown;
+import io.github.tavstaldev.openkits.utils.LongLongHashMap;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds the cooldowns of the loaded players in memory.
+ * Every player has a primitive map of kit IDs to the epoch millisecond their cooldown expires at,
+ * so checking a cooldown does not box and does not allocate.
+ */
+public class CooldownStore {
+    private final Map<UUID, LongLongHashMap> _players = new ConcurrentHashMap<>();
+
+    /**
+     * Checks whether the cooldowns of a player are loaded.
+     *
+     * @param playerId the unique identifier of the player
+     * @return true if the cooldowns are loaded, false otherwise
+     */
+    public boolean isLoaded(UUID playerId) {
+        return _players.containsKey(playerId);
+    }
+
+    /**
+     * Loads the cooldowns of a player.
+     * If the player got loaded meanwhile, the cooldowns are merged into the loaded ones under the same lock
+     * {@link #set(UUID, long, long)} uses, and the loaded ones win, since they were set after the given ones were read.
+     *
+     * @param playerId  the unique identifier of the player
+     * @param cooldowns every cooldown of the player
+     */
+    public void load(UUID playerId, Collection<KitCooldown> cooldowns) {
+        _players.compute(playerId, (id, expiries) -> {
+            if (expiries == null) {
+                expiries = new LongLongHashMap(cooldowns.size());
+                for (KitCooldown cooldown : cooldowns) {
+                    expiries.put(cooldown.KitId, KitCooldown.toEpochMilli(cooldown.End));
+                }
+                return expiries;
+            }
+
+            synchronized (expiries) {
+                for (KitCooldown cooldown : cooldowns) {
+                    if (!expiries.containsKey(cooldown.KitId))
+                        expiries.put(cooldown.KitId, KitCooldown.toEpochMilli(cooldown.End));
+                }
+            }
+            return expiries;
+        });
+    }
+
+    /**
+     * Releases the cooldowns of a player.
+     *
+     * @param playerId the unique identifier of the player
+     */
+    public void unload(UUID playerId) {
+        _players.remove(playerId);
+    }
+
+    /**
+     * Gets when the cooldown of a player for a kit expires.
+     *
+     * @param playerId the unique identifier of the player
+     * @param kitId    the unique identifier of the kit
+     * @return the expiry in epoch milliseconds, or {@link IDatabase#NO_COOLDOWN} if there is none or the player is not loaded
+     */
+    public long getExpiry(UUID playerId, long kitId) {
+        LongLongHashMap expiries = _players.get(playerId);
+        if (expiries == null)
+            return IDatabase.NO_COOLDOWN;
+
+        synchronized (expiries) {
+            return expiries.get(kitId, IDatabase.NO_COOLDOWN);
+        }
+    }
+
+    /**
+     * Sets the cooldown of a player for a kit. Does nothing if the player is not loaded.
+     *
+     * @param playerId  the unique identifier of the player
+     * @param kitId     the unique identifier of the kit
+     * @param expiresAt the expiry in epoch milliseconds
+     */
+    public void set(UUID playerId, long kitId, long expiresAt) {
+        LongLongHashMap expiries = _players.get(playerId);
+        if (expiries == null)
+            return;
+
+        synchronized (expiries) {
+            expiries.put(kitId, expiresAt);
+        }
+    }
+
+    /**
+     * Removes the cooldown of a player for a kit.
+     *
+     * @param playerId the unique identifier of the player
+     * @param kitId    the unique identifier of the kit
+     */
+    public void remove(UUID playerId, long kitId) {
+        LongLongHashMap expiries = _players.get(playerId);
+        if (expiries == null)
+            return;
+
+        synchronized (expiries) {
+            expiries.remove(kitId);
+        }
+    }
+
+    /**
+     * Removes every cooldown of a player. The player stays loaded.
+     *
+     * @param playerId the unique identifier of the player
+     */
+    public void clear(UUID playerId) {
+        LongLongHashMap expiries = _players.get(playerId);
+        if (expiries == null)
+            return;
+
+        synchronized (expiries) {
+            expiries.clear();
+        }
+    }
+
+    /**
+     * Removes the cooldowns of a kit from every loaded player.
+     *
+     * @param kitId the unique identifier of the kit
+     */
+    public void removeKit(long kitId) {
+        for (LongLongHashMap expiries : _players.values()) {
+            synchronized (expiries) {
+                expiries.remove(kitId);
+            }
+        }
+    }
+
+    /**
+     * Copies the loaded cooldowns of a player into a list.
+     *
+     * @param playerId the unique identifier of the player
+     * @return the cooldowns of the player, or null if the player is not loaded
+     */
+    public List<KitCooldown> toList(UUID playerId) {
+        LongLongHashMap expiries = _players.get(playerId);
+        if (expiries == null)
+            return null;
+
+        synchronized (expiries) {
+            List<KitCooldown> cooldowns = new ArrayList<>(expiries.size());
+            expiries.forEach((kitId, expiresAt) ->
+                    cooldowns.add(new KitCooldown(playerId, kitId, KitCooldown.fromEpochMilli(expiresAt))));
+            return cooldowns;
+        }
+    }
+
+    /**
+     * Gets the number of loaded players.
+     *
+     * @return the number of loaded players
+     */
+    public int size() {
+        return _players.size();
+    }
+}
@@ -0,0 +1,149 @@
+package io.github.tavstaldev.openkits.managers;
+
+import io.github.tavstaldev.openkits.gui.KitIconCache;
+import io.github.tavstaldev.openkits.models.Kit;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds every kit of the database in memory.
+ * The registry is filled once when the database is loaded and kept in sync by the
+ * database managers, so readers never have to query the database for the kit list.
+ * Kits are indexed by their IDs and by their lowercased names.
+ */
+public class KitRegistry {
+    private final Map<Long, Kit> _kits = new ConcurrentHashMap<>();
+    private final Map<String, Kit> _nameIndex = new ConcurrentHashMap<>();
+    private volatile List<Kit> _snapshot = List.of();
+
+    /**
+     * Replaces the content of the registry with the given kits.
+     *
+     * @param kits the kits read from the database
+     */
+    public synchronized void load(Collection<Kit> kits) {
+        _kits.clear();
+        _nameIndex.clear();
+        for (Kit kit : kits) {
+            _kits.put(kit.Id, kit);
+            if (kit.Name != null)
+                _nameIndex.put(normalize(kit.Name), kit);
+        }
+        rebuildSnapshot();
+        // Icons of kits that are gone would never be replaced
+        KitIconCache.clear();
+    }
+
+    /**
+     * Gets every registered kit, ordered by their IDs.
+     *
+     * @return an immutable list of the kits
+     */
+    public List<Kit> getKits() {
+        return _snapshot;
+    }
+
+    /**
+     * Finds a registered kit by its ID.
+     *
+     * @param id the ID of the kit
+     * @return the kit, or null if it is not registered
+     */
+    public Kit find(long id) {
+        return _kits.get(id);
+    }
+
+    /**
+     * Finds a registered kit by its name, ignoring the case.
+     *
+     * @param name the name of the kit
+     * @return the kit, or null if it is not registered
+     */
+    public Kit find(String name) {
+        if (name == null)
+            return null;
+        return _nameIndex.get(normalize(name));
+    }
+
+    /**
+     * Adds a kit to the registry or replaces the registered one with the same ID.
+     *
+     * @param kit the kit to register
+     */
+    public synchronized void put(Kit kit) {
+        Kit previous = _kits.put(kit.Id, kit);
+        if (previous != null && previous.Name != null)
+            _nameIndex.remove(normalize(previous.Name), previous);
+        if (kit.Name != null)
+            _nameIndex.put(normalize(kit.Name), kit);
+        rebuildSnapshot();
+        KitIconCache.remove(kit.Id);
+    }
+
+    /**
+     * Renames a registered kit and updates the name index.
+     *
+     * @param id   the ID of the kit
+     * @param name the new name of the kit
+     */
+    public synchronized void rename(long id, String name) {
+        Kit kit = _kits.get(id);
+        if (kit == null)
+            return;
+
+        if (kit.Name != null)
+            _nameIndex.remove(normalize(kit.Name), kit);
+        kit.Name = name;
+        _nameIndex.put(normalize(name), kit);
+        KitIconCache.remove(id);
+    }
+
+    /**
+     * Removes a kit from the registry.
+     *
+     * @param id the ID of the kit to remove
+     */
+    public synchronized void remove(long id) {
+        Kit kit = _kits.remove(id);
+        if (kit == null)
+            return;
+
+        if (kit.Name != null)
+            _nameIndex.remove(normalize(kit.Name), kit);
+        rebuildSnapshot();
+        KitIconCache.remove(id);
+    }
+
+    /**
+     * Normalizes a kit name for the name index.
+     *
+     * @param name the name of the kit
+     * @return the lowercased name
+     */
+    public static String normalize(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Gets the number of registered kits.
+     *
+     * @return the number of kits
+     */
+    public int size() {
+        return _kits.size();
+    }
+
+    /**
+     * Rebuilds the immutable list handed out to the readers.
+     */
+    private void rebuildSnapshot() {
+        _snapshot = _kits.values().stream()
+                .sorted(Comparator.comparingLong(kit -> kit.Id))
+                .toList();
+    }
+}
@@ -0,0 +1,147 @@
+package io.github.tavstaldev.openkits.managers;
+
+import io.github.tavstaldev.minecorelib.core.PluginLogger;
+import io.github.tavstaldev.openkits.OpenKits;
+import io.github.tavstaldev.openkits.models.IInvalidationBus;
+import io.github.tavstaldev.openkits.models.Invalidation;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.messaging.PluginMessageListener;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/**
+ * Broadcasts the changes through the BungeeCord plugin messaging channel.
+ * Plugin messages are carried by a player connection, so a change is only sent while a player is online on this server
+ * and only received by the servers that have an online player. Changes made on an empty server are dropped.
+ * Prefer the polling bus when every change has to arrive.
+ */
+public class MessagingInvalidationBus implements IInvalidationBus, PluginMessageListener {
+    private static final PluginLogger _logger = OpenKits.logger().withModule(MessagingInvalidationBus.class);
+    private static final String CHANNEL = "BungeeCord";
+    private static final String SUBCHANNEL = "OpenKits";
+    private final String _serverId;
+    private Consumer<Invalidation> _handler;
+
+    /**
+     * Creates a new messaging bus.
+     *
+     * @param serverId the identifier of this server
+     */
+    public MessagingInvalidationBus(String serverId) {
+        _serverId = serverId;
+    }
+
+    /**
+     * Registers the plugin channels.
+     *
+     * @param handler called with every change made on another server
+     */
+    @Override
+    public void start(Consumer<Invalidation> handler) {
+        _handler = handler;
+        Bukkit.getMessenger().registerOutgoingPluginChannel(OpenKits.Instance, CHANNEL);
+        Bukkit.getMessenger().registerIncomingPluginChannel(OpenKits.Instance, CHANNEL, this);
+        _logger.debug(String.format("Listening on the plugin messaging channel as %s.", _serverId));
+    }
+
+    /**
+     * Unregisters the plugin channels.
+     */
+    @Override
+    public void stop() {
+        Bukkit.getMessenger().unregisterIncomingPluginChannel(OpenKits.Instance, CHANNEL, this);
+        Bukkit.getMessenger().unregisterOutgoingPluginChannel(OpenKits.Instance, CHANNEL);
+    }
+
+    /**
+     * Forwards a change to every other server of the network through an online player.
+     *
+     * @param invalidation the change to broadcast
+     */
+    @Override
+    public void publish(Invalidation invalidation) {
+        byte[] message;
+        try {
+            ByteArrayOutputStream payload = new ByteArrayOutputStream();
+            invalidation.write(new DataOutputStream(payload));
+
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            DataOutputStream output = new DataOutputStream(buffer);
+            output.writeUTF("Forward");
+            output.writeUTF("ALL");
+            output.writeUTF(SUBCHANNEL);
+            output.writeShort(payload.size());
+            output.write(payload.toByteArray());
+            message = buffer.toByteArray();
+        }
+        catch (IOException ex) {
+            _logger.error(String.format("Unknown error happened while writing a plugin message...\n%s", ex.getMessage()));
+            return;
+        }
+
+        // Plugin messages can only be sent from the main thread
+        StorageExecutor.mainThread().execute(() -> {
+            Player carrier = null;
+            for (Player player : Bukkit.getOnlinePlayers()) {
+                carrier = player;
+                break;
+            }
+
+            if (carrier == null) {
+                _logger.debug(String.format("Dropped a %s change, there is no online player to send it through.", invalidation.Type));
+                return;
+            }
+            carrier.sendPluginMessage(OpenKits.Instance, CHANNEL, message);
+        });
+    }
+
+    /**
+     * Gets the identifier of this server on the bus.
+     *
+     * @return the identifier of this server
+     */
+    @Override
+    public String getServerId() {
+        return _serverId;
+    }
+
+    /**
+     * Reads the forwarded changes of the other servers and applies them on the storage executor.
+     *
+     * @param channel the channel the message was received on
+     * @param player  the player the message was received through
+     * @param message the raw message
+     */
+    @Override
+    public void onPluginMessageReceived(@NotNull String channel, @NotNull Player player, byte[] message) {
+        if (!CHANNEL.equals(channel))
+            return;
+
+        Invalidation invalidation;
+        try {
+            DataInputStream input = new DataInputStream(new ByteArrayInputStream(message));
+            if (!SUBCHANNEL.equals(input.readUTF()))
+                return;
+
+            byte[] payload = new byte[input.readShort()];
+            input.readFully(payload);
+            invalidation = Invalidation.read(new DataInputStream(new ByteArrayInputStream(payload)));
+        }
+        catch (Exception ex) {
+            _logger.error(String.format("Unknown error happened while reading a plugin message...\n%s", ex.getMessage()));
+            return;
+        }
+
+        if (_serverId.equals(invalidation.ServerId))
+            return;
+
+        StorageExecutor.run(() -> _handler.accept(invalidation));
+    }
+}
@@ -1,28 +1,36 @@
 package io.github.tavstaldev.openkits.managers;
 
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 import io.github.tavstaldev.minecorelib.core.PluginLogger;
 import io.github.tavstaldev.openkits.OpenKits;
+import io.github.tavstaldev.openkits.models.ClaimItem;
 import io.github.tavstaldev.openkits.models.IDatabase;
+import io.github.tavstaldev.openkits.models.IInvalidationBus;
+import io.github.tavstaldev.openkits.models.Invalidation;
 import io.github.tavstaldev.openkits.models.Kit;
 import io.github.tavstaldev.openkits.models.KitCooldown;
+import io.github.tavstaldev.openkits.models.RedeemResult;
+import io.github.tavstaldev.openkits.models.StorageStatistics;
+import io.github.tavstaldev.openkits.utils.UuidUtils;
 import org.bukkit.Material;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.inventory.ItemStack;
-import org.jetbrains.annotations.NotNull;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.TimeUnit;
 
 /**
  * Manages MySQL database connections and operations for the OpenKits plugin.
@@ -33,21 +41,29 @@ public class MySqlManager implements IDatabase {
     private static HikariDataSource _dataSource;
     private static FileConfiguration getConfig() { return OpenKits.Instance.getConfig(); }
     private static final PluginLogger _logger = OpenKits.logger().withModule(MySqlManager.class);
-    private final Cache<@NotNull Long, Kit> _kitCache = Caffeine.newBuilder()
-            .maximumSize(1000)
-            .expireAfterWrite(3, TimeUnit.MINUTES)
-            .build();
-    private final Cache<@NotNull UUID, List<KitCooldown>> _cooldownCache = Caffeine.newBuilder()
-            .maximumSize(1000)
-            .expireAfterWrite(1, TimeUnit.MINUTES)
-            .build();
+    private static final int SCHEMA_VERSION = 2;
+    private static final String CATALOGUE_REVISION = "catalogueRevision";
+    private final KitRegistry _kitRegistry = new KitRegistry();
+    private final CooldownStore _cooldownStore = new CooldownStore();
+    private final PoolMetricsTracker _poolMetrics = new PoolMetricsTracker();
+    private SqlStatements _sql;
+    private IInvalidationBus _invalidationBus;
+    // The catalogue revision the kit registry is up to date with
+    private volatile long _catalogueRevision;
 
     /**
-     * Initializes the database connection by creating a data source.
+     * Initializes the database connection by creating a data source,
+     * ensures the schema exists and fills the kit registry.
      */
     @Override
     public void load() {
+        _sql = new SqlStatements(getConfig().getString("storage.tablePrefix"), SqlStatements.Dialect.MYSQL);
         _dataSource = CreateDataSource();
+        checkSchema();
+        loadKits();
+        _invalidationBus = createInvalidationBus();
+        if (_invalidationBus != null)
+            _invalidationBus.start(this::handleInvalidation);
     }
 
     /**
@@ -55,6 +71,11 @@ public class MySqlManager implements IDatabase {
      */
     @Override
     public void unload() {
+        if (_invalidationBus != null) {
+            _invalidationBus.stop();
+            _invalidationBus = null;
+        }
+
         if (_dataSource != null) {
             if (!_dataSource.isClosed())
                 _dataSource.close();
@@ -73,8 +94,23 @@ public class MySqlManager implements IDatabase {
             config.setJdbcUrl(String.format("jdbc:mysql://%s:%s/%s", getConfig().getString("storage.host"), getConfig().getString("storage.port"), getConfig().getString("storage.database"))); // Address of your running MySQL database
             config.setUsername(getConfig().getString("storage.username")); // Username
             config.setPassword(getConfig().getString("storage.password")); // Password
-            config.setMaximumPoolSize(10); // Pool size defaults to 10
-            config.setMaxLifetime(30000);
+            config.setPoolName("OpenKits-MySQL");
+            config.setMaximumPoolSize(Math.max(1, getConfig().getInt("storage.pool.maximumPoolSize", 10)));
+            config.setMinimumIdle(Math.max(0, getConfig().getInt("storage.pool.minimumIdle", 10)));
+            config.setMaxLifetime(getConfig().getLong("storage.pool.maxLifetime", 1800000));
+            config.setIdleTimeout(getConfig().getLong("storage.pool.idleTimeout", 600000));
+            config.setKeepaliveTime(getConfig().getLong("storage.pool.keepaliveTime", 0));
+            config.setConnectionTimeout(getConfig().getLong("storage.pool.connectionTimeout", 30000));
+            config.setLeakDetectionThreshold(getConfig().getLong("storage.pool.leakDetectionThreshold", 0));
+            // Driver properties, like the prepared statement cache and batch rewriting
+            ConfigurationSection properties = getConfig().getConfigurationSection("storage.pool.properties");
+            if (properties != null) {
+                for (String name : properties.getKeys(false))
+                    config.addDataSourceProperty(name, String.valueOf(properties.get(name)));
+            }
+            // The atomic redeem tells a kept row from a changed one by the affected row count
+            config.addDataSourceProperty("useAffectedRows", "true");
+            config.setMetricsTrackerFactory(_poolMetrics);
             return new HikariDataSource(config);
         }
         catch (Exception ex)
@@ -92,9 +128,10 @@ public class MySqlManager implements IDatabase {
         try (Connection connection = _dataSource.getConnection())
         {
             // Kits
-            String sql = String.format("CREATE TABLE IF NOT EXISTS %s_kits (" +
+            String sql = String.format("CREATE TABLE IF NOT EXISTS %s (" +
                     "Id INTEGER AUTO_INCREMENT PRIMARY KEY, " +
                     "Name VARCHAR(35), " +
+                    "NameLower VARCHAR(35), " +
                     "Icon VARCHAR(200), " +
                     "Price DECIMAL, " +
                     "RequirePermission BOOLEAN, " +
@@ -103,20 +140,58 @@ public class MySqlManager implements IDatabase {
                     "IsOneTime BOOLEAN, " +
                     "Enable BOOLEAN, " +
                     "Items BLOB);",
-                    getConfig().getString("storage.tablePrefix")
+                    _sql.KitsTable
             );
             PreparedStatement statement = connection.prepareStatement(sql);
             statement.executeUpdate();
 
-            // Cooldowns
-            sql = String.format("CREATE TABLE IF NOT EXISTS %s_cooldowns (" +
-                            "PlayerId VARCHAR(36), " +
-                            "KitId BIGINT, " +
-                            "End VARCHAR(200));",
-                    getConfig().getString("storage.tablePrefix")
+            // Meta
+            sql = String.format("CREATE TABLE IF NOT EXISTS %s (" +
+                            "Name VARCHAR(64) PRIMARY KEY, " +
+                            "Value VARCHAR(200));",
+                    _sql.MetaTable
+            );
+            statement = connection.prepareStatement(sql);
+            statement.executeUpdate();
+
+            // Changes, read by the servers of the network that use the polling sync
+            sql = String.format("CREATE TABLE IF NOT EXISTS %s (" +
+                            "Id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                            "ServerId VARCHAR(64) NOT NULL, " +
+                            "Type TINYINT NOT NULL, " +
+                            "KitId BIGINT NOT NULL, " +
+                            "PlayerId BINARY(16) NULL, " +
+                            "ExpiresAt BIGINT NOT NULL, " +
+                            "CreatedAt BIGINT NOT NULL, " +
+                            "INDEX %s_CreatedAt (CreatedAt));",
+                    _sql.ChangesTable, _sql.ChangesTable
             );
             statement = connection.prepareStatement(sql);
             statement.executeUpdate();
+
+            // Claims, items that did not fit into the inventory
+            sql = String.format("CREATE TABLE IF NOT EXISTS %s (" +
+                            "Id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                            "PlayerId BINARY(16) NOT NULL, " +
+                            "Item BLOB NOT NULL, " +
+                            "CreatedAt BIGINT NOT NULL, " +
+                            "INDEX %s_PlayerId (PlayerId));",
+                    _sql.ClaimsTable, _sql.ClaimsTable
+            );
+            statement = connection.prepareStatement(sql);
+            statement.executeUpdate();
+
+            // A failed name index only weakens the name lookups, the other migrations still have to run
+            try {
+                migrateNameIndex(connection);
+            }
+            catch (SQLException ex) {
+                _logger.error(String.format("Unknown error happened while creating the kit name index...\n%s", ex.getMessage()));
+            }
+            migrateRevision(connection);
+
+            // Cooldowns
+            migrateCooldowns(connection);
         }
         catch (Exception ex)
         {
@@ -124,7 +199,417 @@ public class MySqlManager implements IDatabase {
         }
     }
 
+    /**
+     * Adds the lowercased name column and its unique index to the kits table if they are missing.
+     * Tables created by older versions are filled from the existing names.
+     *
+     * @param connection The connection to use.
+     * @throws SQLException If the migration fails, for example when two kits only differ in case.
+     */
+    private void migrateNameIndex(Connection connection) throws SQLException {
+        String table = _sql.KitsTable;
+        if (!hasColumn(connection, table, "NameLower")) {
+            try (PreparedStatement statement = connection.prepareStatement(String.format("ALTER TABLE %s ADD COLUMN NameLower VARCHAR(35);", table))) {
+                statement.executeUpdate();
+            }
+        }
+
+        try (PreparedStatement statement = connection.prepareStatement(String.format("UPDATE %s SET NameLower=LOWER(Name) WHERE NameLower IS NULL;", table))) {
+            statement.executeUpdate();
+        }
+
+        // MySQL has no CREATE INDEX IF NOT EXISTS
+        try (ResultSet indexes = connection.getMetaData().getIndexInfo(null, null, table, true, false)) {
+            while (indexes.next()) {
+                if ("NameLower".equalsIgnoreCase(indexes.getString("COLUMN_NAME")))
+                    return;
+            }
+        }
+
+        // The index cannot be created while two kits only differ in case, report them instead of failing the schema check
+        List<List<String>> duplicates = findCaseDuplicateNames(connection, table);
+        if (!duplicates.isEmpty()) {
+            for (List<String> group : duplicates)
+                _logger.error(String.format("The kits %s only differ in case, rename or delete all but one of them.", String.join(", ", group)));
+            _logger.error("Kit names are not unique ignoring case, until this is fixed only one of them can be found by name.");
+            return;
+        }
+
+        try (PreparedStatement statement = connection.prepareStatement(String.format("CREATE UNIQUE INDEX %s_NameLower ON %s (NameLower);", table, table))) {
+            statement.executeUpdate();
+        }
+    }
+
+    /**
+     * Finds the kits whose names only differ in case, which prevent creating the unique name index.
+     *
+     * @param connection The connection to use.
+     * @param table The name of the kits table.
+     * @return The names of the conflicting kits, grouped by their lowercased name.
+     * @throws SQLException If the names could not be read.
+     */
+    private List<List<String>> findCaseDuplicateNames(Connection connection, String table) throws SQLException {
+        Map<String, List<String>> names = new LinkedHashMap<>();
+        try (PreparedStatement statement = connection.prepareStatement(String.format("SELECT Name FROM %s WHERE Name IS NOT NULL ORDER BY Id;", table));
+             ResultSet result = statement.executeQuery()) {
+            while (result.next()) {
+                String name = result.getString("Name");
+                names.computeIfAbsent(name.toLowerCase(Locale.ROOT), key -> new ArrayList<>()).add(name);
+            }
+        }
+
+        List<List<String>> duplicates = new ArrayList<>();
+        for (List<String> group : names.values()) {
+            if (group.size() > 1)
+                duplicates.add(group);
+        }
+        return duplicates;
+    }
+
+    /**
+     * Adds the revision column and its index to the kits table if they are missing,
+     * and creates the catalogue revision. Existing kits start at revision 0.
+     *
+     * @param connection The connection to use.
+     * @throws SQLException If the migration fails.
+     */
+    private void migrateRevision(Connection connection) throws SQLException {
+        String table = _sql.KitsTable;
+        if (!hasColumn(connection, table, "Revision")) {
+            executeUpdate(connection, String.format("ALTER TABLE %s ADD COLUMN Revision BIGINT NOT NULL DEFAULT 0;", table));
+            executeUpdate(connection, String.format("CREATE INDEX %s_Revision ON %s (Revision);", table, table));
+        }
+
+        try (PreparedStatement statement = connection.prepareStatement(_sql.InsertMetaIfAbsent)) {
+            statement.setString(1, CATALOGUE_REVISION);
+            statement.setString(2, "0");
+            statement.executeUpdate();
+        }
+    }
+
+    /**
+     * Checks whether a table has the given column.
+     *
+     * @param connection The connection to use.
+     * @param table The name of the table.
+     * @param column The name of the column.
+     * @return True if the column exists, false otherwise.
+     * @throws SQLException If the metadata could not be read.
+     */
+    private boolean hasColumn(Connection connection, String table, String column) throws SQLException {
+        try (ResultSet columns = connection.getMetaData().getColumns(null, null, table, null)) {
+            while (columns.next()) {
+                if (column.equalsIgnoreCase(columns.getString("COLUMN_NAME")))
+                    return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Brings the cooldowns table to the current schema version.
+     * Version 1 stored the player ID as text and the end of the cooldown as a date string, without any key.
+     * Version 2 stores the player ID as 16 bytes and the expiry as epoch milliseconds, keyed by player and kit.
+     *
+     * @param connection The connection to use.
+     * @throws SQLException If the migration fails.
+     */
+    private void migrateCooldowns(Connection connection) throws SQLException {
+        String table = _sql.CooldownsTable;
+        String legacyTable = table + "_v1";
+        String version = getMeta(connection, "schemaVersion");
+        if (version != null && Integer.parseInt(version) >= SCHEMA_VERSION)
+            return;
+
+        // A failed migration may have renamed the table already
+        if (hasTable(connection, table) && hasColumn(connection, table, "End"))
+            executeUpdate(connection, String.format("ALTER TABLE %s RENAME TO %s;", table, legacyTable));
+
+        executeUpdate(connection, String.format("CREATE TABLE IF NOT EXISTS %s (" +
+                        "PlayerId BINARY(16) NOT NULL, " +
+                        "KitId BIGINT NOT NULL, " +
+                        "ExpiresAt BIGINT NOT NULL, " +
+                        "PRIMARY KEY (PlayerId, KitId), " +
+                        "INDEX %s_ExpiresAt (ExpiresAt));", table, table));
+
+        if (hasTable(connection, legacyTable)) {
+            _logger.info("Migrating the cooldowns table, this may take a while...");
+            long migrated = copyLegacyCooldowns(connection, legacyTable, table);
+            executeUpdate(connection, String.format("DROP TABLE %s;", legacyTable));
+            _logger.info(String.format("Migrated %s cooldowns.", migrated));
+        }
+
+        setMeta(connection, "schemaVersion", String.valueOf(SCHEMA_VERSION));
+    }
+
+    /**
+     * Copies the rows of the version 1 cooldowns table into the current one.
+     * Duplicate rows of a player and kit are merged, keeping the latest expiry.
+     *
+     * @param connection The connection to use.
+     * @param legacyTable The name of the version 1 table.
+     * @param table The name of the current table.
+     * @return The number of copied rows.
+     * @throws SQLException If the rows could not be copied.
+     */
+    private long copyLegacyCooldowns(Connection connection, String legacyTable, String table) throws SQLException {
+        String sql = String.format("INSERT INTO %s (PlayerId, KitId, ExpiresAt) VALUES (?, ?, ?) " +
+                "ON DUPLICATE KEY UPDATE ExpiresAt=GREATEST(ExpiresAt, VALUES(ExpiresAt));", table);
+        long copied = 0;
+        long skipped = 0;
+        connection.setAutoCommit(false);
+        // Stream the rows through a second connection, so the whole table is never held in memory
+        try (Connection reader = _dataSource.getConnection();
+             PreparedStatement select = reader.prepareStatement(String.format("SELECT PlayerId, KitId, End FROM %s;", legacyTable),
+                     ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+             PreparedStatement insert = connection.prepareStatement(sql)) {
+            select.setFetchSize(Integer.MIN_VALUE);
+            try (ResultSet result = select.executeQuery()) {
+                while (result.next()) {
+                    UUID playerId;
+                    long expiresAt;
+                    try {
+                        playerId = UUID.fromString(result.getString("PlayerId"));
+                        expiresAt = KitCooldown.toEpochMilli(LocalDateTime.parse(result.getString("End")));
+                    }
+                    catch (Exception ex) {
+                        skipped++;
+                        continue;
+                    }
+
+                    insert.setBytes(1, UuidUtils.toBytes(playerId));
+                    insert.setLong(2, result.getLong("KitId"));
+                    insert.setLong(3, expiresAt);
+                    insert.addBatch();
+                    if (++copied % 1000 == 0) {
+                        insert.executeBatch();
+                        connection.commit();
+                    }
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        }
+        catch (SQLException ex) {
+            connection.rollback();
+            throw ex;
+        }
+        finally {
+            connection.setAutoCommit(true);
+        }
+
+        if (skipped > 0)
+            _logger.warn(String.format("Skipped %s cooldowns that could not be read.", skipped));
+        return copied;
+    }
+
+    /**
+     * Reads a value from the meta table.
+     *
+     * @param connection The connection to use.
+     * @param name The name of the value.
+     * @return The value, or null if it is not set.
+     * @throws SQLException If the value could not be read.
+     */
+    private String getMeta(Connection connection, String name) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(_sql.SelectMeta)) {
+            statement.setString(1, name);
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next() ? result.getString("Value") : null;
+            }
+        }
+    }
+
+    /**
+     * Writes a value to the meta table.
+     *
+     * @param connection The connection to use.
+     * @param name The name of the value.
+     * @param value The value to write.
+     * @throws SQLException If the value could not be written.
+     */
+    private void setMeta(Connection connection, String name, String value) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(_sql.UpsertMeta)) {
+            statement.setString(1, name);
+            statement.setString(2, value);
+            statement.executeUpdate();
+        }
+    }
+
+    /**
+     * Checks whether a table exists.
+     *
+     * @param connection The connection to use.
+     * @param table The name of the table.
+     * @return True if the table exists, false otherwise.
+     * @throws SQLException If the metadata could not be read.
+     */
+    private boolean hasTable(Connection connection, String table) throws SQLException {
+        try (ResultSet tables = connection.getMetaData().getTables(null, null, table, null)) {
+            return tables.next();
+        }
+    }
+
+    /**
+     * Executes a statement without parameters.
+     *
+     * @param connection The connection to use.
+     * @param sql The statement to execute.
+     * @throws SQLException If the statement fails.
+     */
+    private void executeUpdate(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.executeUpdate();
+        }
+    }
+
+    //#region Sync
+    /**
+     * Creates the bus used to notify the other servers of the network about the changes, as set in the configuration.
+     *
+     * @return The bus, or null if the sync is disabled.
+     */
+    private IInvalidationBus createInvalidationBus() {
+        String serverId = getConfig().getString("sync.serverId", "");
+        if (serverId == null || serverId.isBlank())
+            serverId = UUID.randomUUID().toString();
+
+        String type = getConfig().getString("sync.type", "none");
+        switch (type == null ? "none" : type.toLowerCase()) {
+            case "polling" -> {
+                return new PollingInvalidationBus(_dataSource, _sql, serverId);
+            }
+            case "messaging" -> {
+                return new MessagingInvalidationBus(serverId);
+            }
+            case "none" -> {
+                return null;
+            }
+            default -> {
+                _logger.warn(String.format("Unknown sync type '%s', the servers will not be synchronized.", type));
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Notifies the other servers of the network about a change, if the sync is enabled.
+     *
+     * @param type The kind of the change.
+     * @param kitId The ID of the kit, or 0.
+     * @param playerId The UUID of the player, or null.
+     * @param expiresAt The new expiry of the cooldown in epoch milliseconds, or 0.
+     */
+    private void publish(Invalidation.ChangeType type, long kitId, UUID playerId, long expiresAt) {
+        IInvalidationBus bus = _invalidationBus;
+        if (bus == null)
+            return;
+        bus.publish(new Invalidation(bus.getServerId(), type, kitId, playerId, expiresAt));
+    }
+
+    /**
+     * Applies a change made on another server to the caches of this server.
+     * The change is not published again.
+     *
+     * @param invalidation The change to apply.
+     */
+    private void handleInvalidation(Invalidation invalidation) {
+        switch (invalidation.Type) {
+            case KIT -> {
+                Kit kit;
+                try {
+                    kit = loadKit(invalidation.KitId);
+                }
+                catch (SQLException ex) {
+                    _logger.error(String.format("Unknown error happened while reloading a kit...\n%s", ex.getMessage()));
+                    return;
+                }
+
+                if (kit != null)
+                    _kitRegistry.put(kit);
+                else
+                    _kitRegistry.remove(invalidation.KitId);
+            }
+            case KIT_REMOVED -> {
+                _kitRegistry.remove(invalidation.KitId);
+                _cooldownStore.removeKit(invalidation.KitId);
+            }
+            // The store ignores the players that are not loaded on this server
+            case COOLDOWN -> _cooldownStore.set(invalidation.PlayerId, invalidation.KitId, invalidation.ExpiresAt);
+            case COOLDOWN_REMOVED -> _cooldownStore.remove(invalidation.PlayerId, invalidation.KitId);
+            case PLAYER_COOLDOWNS_REMOVED -> _cooldownStore.clear(invalidation.PlayerId);
+            case KIT_COOLDOWNS_REMOVED -> _cooldownStore.removeKit(invalidation.KitId);
+        }
+    }
+    //#endregion
+
     //#region Kits
+    /**
+     * A write to the kits table, run in the transaction that stamps the revision of the kit.
+     */
+    @FunctionalInterface
+    private interface KitWrite {
+        /**
+         * Runs the write.
+         *
+         * @param connection The connection of the transaction.
+         * @throws SQLException If the write fails.
+         */
+        void run(Connection connection) throws SQLException;
+    }
+
+    /**
+     * Runs a write of a kit and stamps the kit with the next catalogue revision in the same transaction.
+     *
+     * @param id The ID of the written kit.
+     * @param write The write to run.
+     * @throws SQLException If the write or the stamp fails. Nothing is written in that case.
+     */
+    private void writeKit(long id, KitWrite write) throws SQLException {
+        try (Connection connection = _dataSource.getConnection())
+        {
+            connection.setAutoCommit(false);
+            try {
+                write.run(connection);
+                stampKit(connection, id);
+                connection.commit();
+            }
+            catch (SQLException ex) {
+                connection.rollback();
+                throw ex;
+            }
+            finally {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    /**
+     * Increments the catalogue revision and stamps the kit with it, if the kit still exists.
+     * The meta row stays locked until the transaction ends, so the revisions are committed in increasing order
+     * and a server that has read revision N has every change up to N available.
+     *
+     * @param connection The connection of the transaction.
+     * @param id The ID of the kit.
+     * @throws SQLException If the revision could not be written.
+     */
+    private void stampKit(Connection connection, long id) throws SQLException {
+        long revision;
+        try (PreparedStatement statement = connection.prepareStatement(_sql.IncrementCatalogueRevision)) {
+            statement.setString(1, CATALOGUE_REVISION);
+            statement.executeUpdate();
+        }
+        try (PreparedStatement statement = connection.prepareStatement("SELECT LAST_INSERT_ID();");
+             ResultSet result = statement.executeQuery()) {
+            revision = result.next() ? result.getLong(1) : 0;
+        }
+        try (PreparedStatement statement = connection.prepareStatement(_sql.UpdateKitRevision)) {
+            statement.setLong(1, revision);
+            statement.setLong(2, id);
+            statement.executeUpdate();
+        }
+    }
+
     /**
      * Adds a new kit to the database with the specified attributes.
      *
@@ -143,37 +628,50 @@ public class MySqlManager implements IDatabase {
         try (Connection connection = _dataSource.getConnection())
         {
             byte[] serializedItems = OpenKits.ItemMetaSerializer.serializeItemStackListToBytes(items);
-            String sql = String.format("INSERT INTO %s_kits (Name, Icon, Price, RequirePermission, Permission, Cooldown, IsOneTime, Enable, Items) " +
-                            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?);",
-                    getConfig().getString("storage.tablePrefix"));
 
             long id;
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                // Set parameters for the prepared statement
-                statement.setString(1, name);  // Kit name
-                statement.setString(2, icon.name());  // Material icon as a string
-                statement.setDouble(3, price);  // Price
-                statement.setBoolean(4, requirePermission);  // Require Permission
-                statement.setString(5, permission);  // Permission (string)
-                statement.setLong(6, cooldown);  // Cooldown
-                statement.setBoolean(7, isOneTime);  // Is One Time
-                statement.setBoolean(8, enable);  // Is Enabled
-                statement.setBytes(9, serializedItems);  // Serialized Items (e.g., JSON or Base64 string)
-
-                // Execute the query
-                statement.executeUpdate();
+            connection.setAutoCommit(false);
+            try {
+                try (PreparedStatement statement = connection.prepareStatement(_sql.InsertKit)) {
+                    // Set parameters for the prepared statement
+                    statement.setString(1, name);  // Kit name
+                    statement.setString(2, KitRegistry.normalize(name));  // Lowercased kit name
+                    statement.setString(3, icon.name());  // Material icon as a string
+                    statement.setDouble(4, price);  // Price
+                    statement.setBoolean(5, requirePermission);  // Require Permission
+                    statement.setString(6, permission);  // Permission (string)
+                    statement.setLong(7, cooldown);  // Cooldown
+                    statement.setBoolean(8, isOneTime);  // Is One Time
+                    statement.setBoolean(9, enable);  // Is Enabled
+                    statement.setBytes(10, serializedItems);  // Serialized Items (e.g., JSON or Base64 string)
 
-                try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
-                    if (generatedKeys.next()) {
-                        id = generatedKeys.getLong("Id");
-                    } else {
-                        _logger.warn("Could not retrieve auto-incremented ID after INSERT.");
-                        return;
+                    // Execute the query
+                    statement.executeUpdate();
+
+                    try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
+                        if (generatedKeys.next()) {
+                            id = generatedKeys.getLong("Id");
+                        } else {
+                            _logger.warn("Could not retrieve auto-incremented ID after INSERT.");
+                            connection.rollback();
+                            return;
+                        }
                     }
                 }
+
+                stampKit(connection, id);
+                connection.commit();
+            }
+            catch (SQLException ex) {
+                connection.rollback();
+                throw ex;
+            }
+            finally {
+                connection.setAutoCommit(true);
             }
 
-            _kitCache.put(id, new Kit(id, name, icon.name(), price, requirePermission, permission, cooldown, isOneTime, enable, serializedItems));
+            _kitRegistry.put(new Kit(id, name, icon.name(), price, requirePermission, permission, cooldown, isOneTime, enable, serializedItems));
+            publish(Invalidation.ChangeType.KIT, id, null, 0);
         }
         catch (Exception ex)
         {
@@ -189,21 +687,19 @@ public class MySqlManager implements IDatabase {
      */
     @Override
     public void updateKitName(long id, String name) {
-        try (Connection connection = _dataSource.getConnection())
+        try
         {
-            String sql = String.format("UPDATE %s_kits SET Name=? WHERE Id=?;",
-                    getConfig().getString("storage.tablePrefix"));
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                statement.setString(1, name);
-                statement.setLong(2, id);
-                statement.executeUpdate();
-            }
+            writeKit(id, connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(_sql.UpdateKitName)) {
+                    statement.setString(1, name);
+                    statement.setString(2, KitRegistry.normalize(name));
+                    statement.setLong(3, id);
+                    statement.executeUpdate();
+                }
+            });
 
-            var kitResult = _kitCache.getIfPresent(id);
-            if (kitResult != null) {
-                kitResult.Name = name;
-                _kitCache.put(id, kitResult);
-            }
+            _kitRegistry.rename(id, name);
+            publish(Invalidation.ChangeType.KIT, id, null, 0);
         }
         catch (Exception ex)
         {
@@ -220,23 +716,23 @@ public class MySqlManager implements IDatabase {
      */
     @Override
     public void updateKitPermission(long id, boolean requirePermission, String permission) {
-        try (Connection connection = _dataSource.getConnection())
+        try
         {
-            String sql = String.format("UPDATE %s_kits SET RequirePermission=?, Permission=? WHERE Id=?;",
-                    getConfig().getString("storage.tablePrefix"));
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                statement.setBoolean(1, requirePermission);
-                statement.setString(2, permission);
-                statement.setLong(3, id);
-                statement.executeUpdate();
-            }
+            writeKit(id, connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(_sql.UpdateKitPermission)) {
+                    statement.setBoolean(1, requirePermission);
+                    statement.setString(2, permission);
+                    statement.setLong(3, id);
+                    statement.executeUpdate();
+                }
+            });
 
-            var kitResult = _kitCache.getIfPresent(id);
+            var kitResult = _kitRegistry.find(id);
             if (kitResult != null) {
                 kitResult.RequirePermission = requirePermission;
                 kitResult.Permission = permission;
-                _kitCache.put(id, kitResult);
             }
+            publish(Invalidation.ChangeType.KIT, id, null, 0);
         }
         catch (Exception ex)
         {
@@ -252,23 +748,22 @@ public class MySqlManager implements IDatabase {
      */
     @Override
     public void updateKitItems(long id, List<ItemStack> items) {
-        try (Connection connection = _dataSource.getConnection())
+        try
         {
-            String sql = String.format("UPDATE %s_kits SET Items=? WHERE Id=?;",
-                    getConfig().getString("storage.tablePrefix"));
-
             var serializedItems = OpenKits.ItemMetaSerializer.serializeItemStackListToBytes(items);
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                statement.setBytes(1, serializedItems);
-                statement.setLong(2, id);
-                statement.executeUpdate();
-            }
+            writeKit(id, connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(_sql.UpdateKitItems)) {
+                    statement.setBytes(1, serializedItems);
+                    statement.setLong(2, id);
+                    statement.executeUpdate();
+                }
+            });
 
-            var kitResult = _kitCache.getIfPresent(id);
+            var kitResult = _kitRegistry.find(id);
             if (kitResult != null) {
                 kitResult.Items = serializedItems;
-                _kitCache.put(id, kitResult);
             }
+            publish(Invalidation.ChangeType.KIT, id, null, 0);
         }
         catch (Exception ex)
         {
@@ -284,21 +779,21 @@ public class MySqlManager implements IDatabase {
      */
     @Override
     public void updateKitPrice(long id, Double price) {
-        try (Connection connection = _dataSource.getConnection())
+        try
         {
-            String sql = String.format("UPDATE %s_kits SET Price=? WHERE Id=?;",
-                    getConfig().getString("storage.tablePrefix"));
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                statement.setDouble(1, price);
-                statement.setLong(2, id);
-                statement.executeUpdate();
-            }
+            writeKit(id, connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(_sql.UpdateKitPrice)) {
+                    statement.setDouble(1, price);
+                    statement.setLong(2, id);
+                    statement.executeUpdate();
+                }
+            });
 
-            var kitResult = _kitCache.getIfPresent(id);
+            var kitResult = _kitRegistry.find(id);
             if (kitResult != null) {
                 kitResult.Price = price;
-                _kitCache.put(id, kitResult);
             }
+            publish(Invalidation.ChangeType.KIT, id, null, 0);
         }
         catch (Exception ex)
         {
@@ -314,21 +809,21 @@ public class MySqlManager implements IDatabase {
      */
     @Override
     public void updateKitCooldown(long id, long cooldown) {
-        try (Connection connection = _dataSource.getConnection())
+        try
         {
-            String sql = String.format("UPDATE %s_kits SET Cooldown=? WHERE Id=?;",
-                    getConfig().getString("storage.tablePrefix"));
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                statement.setLong(1, cooldown);
-                statement.setLong(2, id);
-                statement.executeUpdate();
-            }
+            writeKit(id, connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(_sql.UpdateKitCooldown)) {
+                    statement.setLong(1, cooldown);
+                    statement.setLong(2, id);
+                    statement.executeUpdate();
+                }
+            });
 
-            var kitResult = _kitCache.getIfPresent(id);
+            var kitResult = _kitRegistry.find(id);
             if (kitResult != null) {
                 kitResult.Cooldown = cooldown;
-                _kitCache.put(id, kitResult);
             }
+            publish(Invalidation.ChangeType.KIT, id, null, 0);
         }
         catch (Exception ex)
         {
@@ -344,21 +839,21 @@ public class MySqlManager implements IDatabase {
      */
     @Override
     public void updateKitEnabled(long id, boolean enable) {
-        try (Connection connection = _dataSource.getConnection())
+        try
         {
-            String sql = String.format("UPDATE %s_kits SET Enable=? WHERE Id=?;",
-                    getConfig().getString("storage.tablePrefix"));
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                statement.setBoolean(1, enable);
-                statement.setLong(2, id);
-                statement.executeUpdate();
-            }
+            writeKit(id, connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(_sql.UpdateKitEnabled)) {
+                    statement.setBoolean(1, enable);
+                    statement.setLong(2, id);
+                    statement.executeUpdate();
+                }
+            });
 
-            var kitResult = _kitCache.getIfPresent(id);
+            var kitResult = _kitRegistry.find(id);
             if (kitResult != null) {
                 kitResult.Enable = enable;
-                _kitCache.put(id, kitResult);
             }
+            publish(Invalidation.ChangeType.KIT, id, null, 0);
         }
         catch (Exception ex)
         {
@@ -374,21 +869,21 @@ public class MySqlManager implements IDatabase {
      */
     @Override
     public void updateKitIcon(long id, Material icon) {
-        try (Connection connection = _dataSource.getConnection())
+        try
         {
-            String sql = String.format("UPDATE %s_kits SET Icon=? WHERE Id=?;",
-                    getConfig().getString("storage.tablePrefix"));
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                statement.setString(1, icon.name());
-                statement.setLong(2, id);
-                statement.executeUpdate();
-            }
+            writeKit(id, connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(_sql.UpdateKitIcon)) {
+                    statement.setString(1, icon.name());
+                    statement.setLong(2, id);
+                    statement.executeUpdate();
+                }
+            });
 
-            var kitResult = _kitCache.getIfPresent(id);
+            var kitResult = _kitRegistry.find(id);
             if (kitResult != null) {
                 kitResult.Icon = icon.name();
-                _kitCache.put(id, kitResult);
             }
+            publish(Invalidation.ChangeType.KIT, id, null, 0);
         }
         catch (Exception ex)
         {
@@ -404,21 +899,21 @@ public class MySqlManager implements IDatabase {
      */
     @Override
     public void updateKitOneTime(long id, boolean isOneTime) {
-        try (Connection connection = _dataSource.getConnection())
+        try
         {
-            String sql = String.format("UPDATE %s_kits SET IsOneTime=? WHERE Id=?;",
-                    getConfig().getString("storage.tablePrefix"));
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                statement.setBoolean(1, isOneTime);
-                statement.setLong(2, id);
-                statement.executeUpdate();
-            }
+            writeKit(id, connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(_sql.UpdateKitOneTime)) {
+                    statement.setBoolean(1, isOneTime);
+                    statement.setLong(2, id);
+                    statement.executeUpdate();
+                }
+            });
 
-            var kitResult = _kitCache.getIfPresent(id);
+            var kitResult = _kitRegistry.find(id);
             if (kitResult != null) {
                 kitResult.IsOneTime = isOneTime;
-                _kitCache.put(id, kitResult);
             }
+            publish(Invalidation.ChangeType.KIT, id, null, 0);
         }
         catch (Exception ex)
         {
@@ -433,16 +928,17 @@ public class MySqlManager implements IDatabase {
      */
     @Override
     public void removeKit(long id) {
-        try (Connection connection = _dataSource.getConnection())
+        try
         {
-            String sql = String.format("DELETE FROM %s_kits WHERE Id=?;",
-                    getConfig().getString("storage.tablePrefix"));
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                statement.setLong(1, id);
-                statement.executeUpdate();
-            }
+            writeKit(id, connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(_sql.DeleteKit)) {
+                    statement.setLong(1, id);
+                    statement.executeUpdate();
+                }
+            });
 
-            _kitCache.invalidate(id);
+            _kitRegistry.remove(id);
+            publish(Invalidation.ChangeType.KIT_REMOVED, id, null, 0);
         }
         catch (Exception ex)
         {
@@ -451,235 +947,355 @@ public class MySqlManager implements IDatabase {
     }
 
     /**
-     * Retrieves all kits from the database.
+     * Retrieves all kits from the kit registry.
+     * The registry always holds every kit, so the database is not queried.
      *
-     * @return A list of all kits in the database.
+     * @return An immutable list of all kits.
      */
     @Override
     public List<Kit> getKits() {
-        var kitMap = _kitCache.asMap();
-        if (!kitMap.isEmpty()) {
-            return kitMap.values().stream().toList();
-        }
+        return _kitRegistry.getKits();
+    }
 
+    /**
+     * Reads every kit from the database and fills the kit registry with them.
+     */
+    private void loadKits() {
         List<Kit> data = new ArrayList<>();
+        long revision;
         try (Connection connection = _dataSource.getConnection())
         {
-            String sql = String.format("SELECT * FROM %s_kits;",
-                    getConfig().getString("storage.tablePrefix"));
-            try (PreparedStatement statement = connection.prepareStatement(sql);
+            // Read before the kits, so a change committed in between is picked up by the next refresh
+            revision = readCatalogueRevision(connection);
+            try (PreparedStatement statement = connection.prepareStatement(_sql.SelectKits);
                  ResultSet result = statement.executeQuery()) {
 
                 while (result.next()) {
-                    data.add(new Kit(
-                            result.getInt("Id"),
-                            result.getString("Name"),
-                            result.getString("Icon"),
-                            result.getDouble("Price"),
-                            result.getBoolean("RequirePermission"),
-                            result.getString("Permission"),
-                            result.getLong("Cooldown"),
-                            result.getBoolean("IsOneTime"),
-                            result.getBoolean("Enable"),
-                            result.getBytes("Items")
-                    ));
+                    data.add(readKit(result));
                 }
             }
         }
         catch (Exception ex)
         {
             _logger.error(String.format("Unknown error happened while getting kits data...\n%s", ex.getMessage()));
-            return null;
+            return;
         }
 
-        for (var kit : data) {;
-            _kitCache.put(kit.Id, kit);
-        }
-        return data;
+        _kitRegistry.load(data);
+        _catalogueRevision = revision;
+        _logger.debug(String.format("Loaded %s kits.", data.size()));
     }
 
     /**
-     * Finds a kit in the database by its ID.
+     * Reads the kits changed on the other servers since the last refresh.
+     * Only the catalogue revision is read while nothing has changed. Otherwise the changed rows
+     * and the IDs of the kits are read, the latter to drop the removed kits.
      *
-     * @param id The ID of the kit to find.
-     * @return The kit with the specified ID, or null if not found.
+     * @return The number of added, changed or removed kits.
      */
     @Override
-    public Kit findKit(long id) {
-        if (_kitCache.asMap().containsKey(id)) {
-            return _kitCache.getIfPresent(id);
-        }
-
-        Kit data = null;
+    public synchronized int refreshKits() {
+        long known = _catalogueRevision;
+        List<Kit> changed = new ArrayList<>();
+        Set<Long> ids = new HashSet<>();
+        long maxId = 0;
+        long revision;
         try (Connection connection = _dataSource.getConnection())
         {
-            String sql = String.format("SELECT * FROM %s_kits WHERE Id=? LIMIT 1;",
-                    getConfig().getString("storage.tablePrefix"));
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                statement.setLong(1, id);
+            revision = readCatalogueRevision(connection);
+            if (revision <= known)
+                return 0;
+
+            try (PreparedStatement statement = connection.prepareStatement(_sql.SelectKitsChangedSince)) {
+                statement.setLong(1, known);
                 try (ResultSet result = statement.executeQuery()) {
-                    if (result.next()) {
-                        data = new Kit(
-                                result.getInt("Id"),
-                                result.getString("Name"),
-                                result.getString("Icon"),
-                                result.getDouble("Price"),
-                                result.getBoolean("RequirePermission"),
-                                result.getString("Permission"),
-                                result.getLong("Cooldown"),
-                                result.getBoolean("IsOneTime"),
-                                result.getBoolean("Enable"),
-                                result.getBytes("Items")
-                        );
-                    }
+                    while (result.next())
+                        changed.add(readKit(result));
+                }
+            }
+
+            try (PreparedStatement statement = connection.prepareStatement(_sql.SelectKitIds);
+                 ResultSet result = statement.executeQuery()) {
+                while (result.next()) {
+                    long id = result.getLong("Id");
+                    ids.add(id);
+                    maxId = Math.max(maxId, id);
                 }
             }
         }
         catch (Exception ex)
         {
-            _logger.error(String.format("Unknown error happened while finding kit data...\n%s", ex.getMessage()));
-            return null;
+            _logger.error(String.format("Unknown error happened while refreshing kits data...\n%s", ex.getMessage()));
+            return 0;
         }
 
-        if (data != null)
-            _kitCache.put(data.Id, data);
-        return data;
+        for (Kit kit : changed)
+            _kitRegistry.put(kit);
+
+        int removed = 0;
+        for (Kit kit : _kitRegistry.getKits()) {
+            // Kits above the highest read ID were added on this server after the IDs were read
+            if (ids.contains(kit.Id) || kit.Id > maxId)
+                continue;
+            _kitRegistry.remove(kit.Id);
+            _cooldownStore.removeKit(kit.Id);
+            removed++;
+        }
+
+        _catalogueRevision = revision;
+        _logger.debug(String.format("Refreshed the kits from revision %s to %s, %s changed and %s removed.", known, revision, changed.size(), removed));
+        return changed.size() + removed;
     }
 
     /**
-     * Finds a kit in the database by its name.
+     * Reads the current catalogue revision.
+     *
+     * @param connection The connection to use.
+     * @return The catalogue revision, or 0 if it is not set.
+     * @throws SQLException If the revision could not be read.
+     */
+    private long readCatalogueRevision(Connection connection) throws SQLException {
+        String value = getMeta(connection, CATALOGUE_REVISION);
+        return value == null ? 0 : Long.parseLong(value);
+    }
+
+    /**
+     * Reads a kit from the database by its ID, bypassing the kit registry.
+     *
+     * @param id The ID of the kit to read.
+     * @return The kit with the specified ID, or null if it does not exist.
+     * @throws SQLException If the kit could not be read.
+     */
+    private Kit loadKit(long id) throws SQLException {
+        try (Connection connection = _dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(_sql.SelectKitById)) {
+            statement.setLong(1, id);
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next() ? readKit(result) : null;
+            }
+        }
+    }
+
+    /**
+     * Creates a kit from the current row of a result set.
+     *
+     * @param result The result set positioned on a kit row.
+     * @return The kit.
+     * @throws SQLException If the row could not be read.
+     */
+    private Kit readKit(ResultSet result) throws SQLException {
+        return new Kit(
+                result.getInt("Id"),
+                result.getString("Name"),
+                result.getString("Icon"),
+                result.getDouble("Price"),
+                result.getBoolean("RequirePermission"),
+                result.getString("Permission"),
+                result.getLong("Cooldown"),
+                result.getBoolean("IsOneTime"),
+                result.getBoolean("Enable"),
+                result.getBytes("Items")
+        );
+    }
+
+    /**
+     * Finds a kit in the kit registry by its ID.
+     * The registry holds every kit, so a miss means the kit does not exist and no query is made.
+     *
+     * @param id The ID of the kit to find.
+     * @return The kit with the specified ID, or null if not found.
+     */
+    @Override
+    public Kit findKit(long id) {
+        return _kitRegistry.find(id);
+    }
+
+    /**
+     * Finds a kit in the kit registry by its name.
      *
      * @param name The name of the kit to find.
      * @return The kit with the specified name, or null if not found.
      */
     @Override
     public Kit findKit(String name) {
-        var kitMap = _kitCache.asMap();
-        if (!kitMap.isEmpty()) {
-            Optional<Kit> cachedKit = kitMap.values().stream()
-                    .filter(kit -> kit.Name.equalsIgnoreCase(name))
-                    .findFirst();
-            if (cachedKit.isPresent()) {
-                return cachedKit.get();
-            }
-        }
+        return _kitRegistry.find(name);
+    }
+    //#endregion
 
-        Kit data = null;
-        try (Connection connection = _dataSource.getConnection())
+    //#region Cooldowns
+    /**
+     * Adds a cooldown for a specific kit and player in the database.
+     *
+     * @param playerId The UUID of the player.
+     * @param kitId The ID of the kit.
+     * @param end The end time of the cooldown as a LocalDateTime.
+     */
+    @Override
+    public void addKitCooldown(UUID playerId, long kitId, LocalDateTime end) {
+        try
         {
-            String sql = String.format("SELECT * FROM %s_kits WHERE LOWER(Name) LIKE LOWER(?) LIMIT 1;",
-                    getConfig().getString("storage.tablePrefix"));
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                statement.setString(1, "%" + name + "%");
-                try (ResultSet result = statement.executeQuery()) {
-                    if (result.next()) {
-                        data = new Kit(
-                                result.getInt("Id"),
-                                result.getString("Name"),
-                                result.getString("Icon"),
-                                result.getDouble("Price"),
-                                result.getBoolean("RequirePermission"),
-                                result.getString("Permission"),
-                                result.getLong("Cooldown"),
-                                result.getBoolean("IsOneTime"),
-                                result.getBoolean("Enable"),
-                                result.getBytes("Items")
-                        );
-                    }
-                }
-            }
+            writeCooldowns(List.of(new KitCooldown(playerId, kitId, end)));
         }
         catch (Exception ex)
         {
-            _logger.error(String.format("Unknown error happened while finding kit data...\n%s", ex.getMessage()));
-            return null;
+            _logger.error(String.format("Unknown error happened while adding cooldown...\n%s", ex.getMessage()));
+            return;
         }
 
-        if (data != null)
-            _kitCache.put(data.Id, data);
+        long expiresAt = KitCooldown.toEpochMilli(end);
+        _cooldownStore.set(playerId, kitId, expiresAt);
+        publish(Invalidation.ChangeType.COOLDOWN, kitId, playerId, expiresAt);
+    }
+
+    /**
+     * Updates the cooldown for a specific kit and player in the database.
+     *
+     * @param playerId The UUID of the player.
+     * @param kitId The ID of the kit.
+     * @param end The new end time of the cooldown as a LocalDateTime.
+     */
+    @Override
+    public void updateKitCooldown(UUID playerId, long kitId, LocalDateTime end) {
+        try
+        {
+            writeCooldowns(List.of(new KitCooldown(playerId, kitId, end)));
+        }
+        catch (Exception ex)
+        {
+            _logger.error(String.format("Unknown error happened while updating the cooldowns table...\n%s", ex.getMessage()));
+            return;
+        }
 
-        return data;
+        long expiresAt = KitCooldown.toEpochMilli(end);
+        _cooldownStore.set(playerId, kitId, expiresAt);
+        publish(Invalidation.ChangeType.COOLDOWN, kitId, playerId, expiresAt);
     }
-    //#endregion
 
-    //#region Cooldowns
     /**
-     * Adds a cooldown for a specific kit and player in the database.
+     * Claims a kit for a player with a single conditional upsert.
+     * The cooldowns in memory reject most refused claims without a query. The database decides the rest,
+     * so two servers cannot both claim a one-time kit or a kit on cooldown.
      *
      * @param playerId The UUID of the player.
      * @param kitId The ID of the kit.
-     * @param end The end time of the cooldown as a LocalDateTime.
+     * @param now The current time in epoch milliseconds.
+     * @return The result of the claim.
      */
     @Override
-    public void addKitCooldown(UUID playerId, long kitId, LocalDateTime end) {
+    public RedeemResult redeem(UUID playerId, long kitId, long now) {
+        Kit kit = findKit(kitId);
+        if (kit == null)
+            return RedeemResult.notFound(kitId);
+
+        long previous = getCooldownExpiry(playerId, kitId);
+        RedeemResult refused = RedeemResult.check(kit, previous, now);
+        if (refused != null)
+            return refused;
+
+        long expiresAt = now + kit.Cooldown * 1000L;
         try (Connection connection = _dataSource.getConnection())
         {
-            String sql = String.format("INSERT INTO %s_cooldowns (PlayerId, KitId, End) " +
-                            "VALUES (?, ?, ?);",
-                    getConfig().getString("storage.tablePrefix"));
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                statement.setString(1, playerId.toString());
+            byte[] id = UuidUtils.toBytes(playerId);
+            try (PreparedStatement statement = connection.prepareStatement(_sql.ClaimCooldown)) {
+                statement.setBytes(1, id);
                 statement.setLong(2, kitId);
-                statement.setString(3, end.toString());
-                statement.executeUpdate();
+                statement.setLong(3, expiresAt);
+                statement.setLong(4, now);
+                statement.setBoolean(5, kit.IsOneTime);
+                if (statement.executeUpdate() > 0) {
+                    _cooldownStore.set(playerId, kitId, expiresAt);
+                    publish(Invalidation.ChangeType.COOLDOWN, kitId, playerId, expiresAt);
+                    return new RedeemResult(RedeemResult.Outcome.SUCCESS, kitId, expiresAt, previous);
+                }
             }
 
-            var cooldowns = _cooldownCache.getIfPresent(playerId);
-            if (cooldowns != null) {
-                cooldowns.add(new KitCooldown(playerId, kitId, end));
-                _cooldownCache.put(playerId, cooldowns);
-            }
-            else {
-                List<KitCooldown> newCooldowns = new ArrayList<>();
-                newCooldowns.add(new KitCooldown(playerId, kitId, end));
-                _cooldownCache.put(playerId, newCooldowns);
+            // Another server claimed it first, the cooldown in memory is outdated
+            long current = NO_COOLDOWN;
+            try (PreparedStatement statement = connection.prepareStatement(_sql.SelectCooldown)) {
+                statement.setBytes(1, id);
+                statement.setLong(2, kitId);
+                try (ResultSet result = statement.executeQuery()) {
+                    if (result.next())
+                        current = result.getLong("ExpiresAt");
+                }
             }
+
+            if (current != NO_COOLDOWN)
+                _cooldownStore.set(playerId, kitId, current);
+            refused = RedeemResult.check(kit, current, now);
+            return refused != null ? refused : RedeemResult.failed(kitId);
         }
         catch (Exception ex)
         {
-            _logger.error(String.format("Unknown error happened while adding cooldown...\n%s", ex.getMessage()));
+            _logger.error(String.format("Unknown error happened while redeeming a kit...\n%s", ex.getMessage()));
+            return RedeemResult.failed(kitId);
         }
     }
 
     /**
-     * Updates the cooldown for a specific kit and player in the database.
+     * Reverts a successful claim if the cooldown was not changed since.
      *
      * @param playerId The UUID of the player.
-     * @param kitId The ID of the kit.
-     * @param end The new end time of the cooldown as a LocalDateTime.
+     * @param result The successful result of the claim.
      */
     @Override
-    public void updateKitCooldown(UUID playerId, long kitId, LocalDateTime end) {
+    public void revertRedeem(UUID playerId, RedeemResult result) {
+        if (!result.isSuccess())
+            return;
+
         try (Connection connection = _dataSource.getConnection())
         {
-            String sql = String.format("UPDATE %s_cooldowns SET End=? WHERE PlayerId=? AND KitId=?;",
-                    getConfig().getString("storage.tablePrefix"));
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                statement.setString(1, end.toString());
-                statement.setString(2, playerId.toString());
-                statement.setLong(3, kitId);
-                statement.executeUpdate();
+            boolean restore = result.PreviousExpiresAt != NO_COOLDOWN;
+            try (PreparedStatement statement = connection.prepareStatement(restore ? _sql.RestoreCooldown : _sql.DeleteCooldownIfUnchanged)) {
+                int index = 1;
+                if (restore)
+                    statement.setLong(index++, result.PreviousExpiresAt);
+                statement.setBytes(index++, UuidUtils.toBytes(playerId));
+                statement.setLong(index++, result.KitId);
+                statement.setLong(index, result.ExpiresAt);
+                if (statement.executeUpdate() == 0)
+                    return;
             }
 
-            var cooldowns = _cooldownCache.getIfPresent(playerId);
-            if (cooldowns != null) {
-                for (var cooldown : cooldowns) {
-                    if (cooldown.KitId == kitId) {
-                        cooldown.End = end;
-                        break;
-                    }
-                }
-                _cooldownCache.put(playerId, cooldowns);
+            if (restore) {
+                _cooldownStore.set(playerId, result.KitId, result.PreviousExpiresAt);
+                publish(Invalidation.ChangeType.COOLDOWN, result.KitId, playerId, result.PreviousExpiresAt);
             }
             else {
-                List<KitCooldown> newCooldowns = new ArrayList<>();
-                newCooldowns.add(new KitCooldown(playerId, kitId, end));
-                _cooldownCache.put(playerId, newCooldowns);
+                _cooldownStore.remove(playerId, result.KitId);
+                publish(Invalidation.ChangeType.COOLDOWN_REMOVED, result.KitId, playerId, 0);
             }
         }
         catch (Exception ex)
         {
-            _logger.error(String.format("Unknown error happened while updating the cooldowns table...\n%s", ex.getMessage()));
+            _logger.error(String.format("Unknown error happened while reverting a redeem...\n%s", ex.getMessage()));
+        }
+    }
+
+    /**
+     * Writes a batch of cooldowns to the database in a single transaction.
+     *
+     * @param cooldowns The cooldowns to write.
+     * @throws SQLException If the batch could not be written.
+     */
+    private void writeCooldowns(List<KitCooldown> cooldowns) throws SQLException {
+        try (Connection connection = _dataSource.getConnection())
+        {
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(_sql.UpsertCooldown)) {
+                for (var cooldown : cooldowns) {
+                    statement.setBytes(1, UuidUtils.toBytes(cooldown.PlayerId));
+                    statement.setLong(2, cooldown.KitId);
+                    statement.setLong(3, KitCooldown.toEpochMilli(cooldown.End));
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                connection.commit();
+            }
+            catch (SQLException ex) {
+                connection.rollback();
+                throw ex;
+            }
         }
     }
 
@@ -693,19 +1309,14 @@ public class MySqlManager implements IDatabase {
     public void removeKitCooldown(UUID playerId, long kitId) {
         try (Connection connection = _dataSource.getConnection())
         {
-            String sql = String.format("DELETE FROM %s_cooldowns WHERE PlayerId=? AND KitId=?;",
-                    getConfig().getString("storage.tablePrefix"));
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                statement.setString(1, playerId.toString());
+            try (PreparedStatement statement = connection.prepareStatement(_sql.DeleteCooldown)) {
+                statement.setBytes(1, UuidUtils.toBytes(playerId));
                 statement.setLong(2, kitId);
                 statement.executeUpdate();
             }
 
-            var cooldowns = _cooldownCache.getIfPresent(playerId);
-            if (cooldowns != null) {
-                cooldowns.removeIf(cooldown -> cooldown.KitId == kitId);
-                _cooldownCache.put(playerId, cooldowns);
-            }
+            _cooldownStore.remove(playerId, kitId);
+            publish(Invalidation.ChangeType.COOLDOWN_REMOVED, kitId, playerId, 0);
         }
         catch (Exception ex)
         {
@@ -722,14 +1333,13 @@ public class MySqlManager implements IDatabase {
     public void removeKitCooldowns(UUID playerId) {
         try (Connection connection = _dataSource.getConnection())
         {
-            String sql = String.format("DELETE FROM %s_cooldowns WHERE PlayerId=?;",
-                    getConfig().getString("storage.tablePrefix"));
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                statement.setString(1, playerId.toString());
+            try (PreparedStatement statement = connection.prepareStatement(_sql.DeletePlayerCooldowns)) {
+                statement.setBytes(1, UuidUtils.toBytes(playerId));
                 statement.executeUpdate();
             }
 
-            _cooldownCache.invalidate(playerId);
+            _cooldownStore.clear(playerId);
+            publish(Invalidation.ChangeType.PLAYER_COOLDOWNS_REMOVED, 0, playerId, 0);
         }
         catch (Exception ex)
         {
@@ -746,19 +1356,13 @@ public class MySqlManager implements IDatabase {
     public void removeKitCooldowns(long kitId) {
         try (Connection connection = _dataSource.getConnection())
         {
-            String sql = String.format("DELETE FROM %s_cooldowns WHERE KitId=?;",
-                    getConfig().getString("storage.tablePrefix"));
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            try (PreparedStatement statement = connection.prepareStatement(_sql.DeleteKitCooldowns)) {
                 statement.setLong(1, kitId);
                 statement.executeUpdate();
             }
 
-            var cooldownMap = _cooldownCache.asMap();
-            for (var entry : cooldownMap.entrySet()) {
-                var cooldowns = entry.getValue();
-                cooldowns.removeIf(cooldown -> cooldown.KitId == kitId);
-                _cooldownCache.put(entry.getKey(), cooldowns);
-            }
+            _cooldownStore.removeKit(kitId);
+            publish(Invalidation.ChangeType.KIT_COOLDOWNS_REMOVED, kitId, null, 0);
         }
         catch (Exception ex)
         {
@@ -774,24 +1378,22 @@ public class MySqlManager implements IDatabase {
      */
     @Override
     public List<KitCooldown> getKitCooldowns(UUID playerId) {
-        var cachedCooldowns = _cooldownCache.getIfPresent(playerId);
-        if (cachedCooldowns != null) {
-            return cachedCooldowns;
+        var loadedCooldowns = _cooldownStore.toList(playerId);
+        if (loadedCooldowns != null) {
+            return loadedCooldowns;
         }
 
         List<KitCooldown> data = new ArrayList<>();
         try (Connection connection = _dataSource.getConnection())
         {
-            String sql = String.format("SELECT * FROM %s_cooldowns WHERE PlayerId=?;",
-                    getConfig().getString("storage.tablePrefix"));
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                statement.setString(1, playerId.toString());
+            try (PreparedStatement statement = connection.prepareStatement(_sql.SelectPlayerCooldowns)) {
+                statement.setBytes(1, UuidUtils.toBytes(playerId));
                 try (ResultSet result = statement.executeQuery()) {
                     while (result.next()) {
                         data.add(new KitCooldown(
-                                UUID.fromString(result.getString("PlayerId")),
+                                playerId,
                                 result.getLong("KitId"),
-                                LocalDateTime.parse(result.getString("End"))
+                                KitCooldown.fromEpochMilli(result.getLong("ExpiresAt"))
                         ));
                     }
                 }
@@ -803,12 +1405,14 @@ public class MySqlManager implements IDatabase {
             return null;
         }
 
-        _cooldownCache.put(playerId, data);
-        return data;
+        _cooldownStore.load(playerId, data);
+        // Another load or a redeem may have got in first, the merged cooldowns are the current ones
+        var mergedCooldowns = _cooldownStore.toList(playerId);
+        return mergedCooldowns != null ? mergedCooldowns : data;
     }
 
     /**
-     * Finds a specific cooldown for a kit and player in the database.
+     * Finds a specific cooldown for a kit and player.
      *
      * @param playerId The UUID of the player.
      * @param kitId The ID of the kit.
@@ -816,48 +1420,173 @@ public class MySqlManager implements IDatabase {
      */
     @Override
     public KitCooldown findKitCooldown(UUID playerId, long kitId) {
-        var cachedCooldowns = _cooldownCache.getIfPresent(playerId);
-        if (cachedCooldowns != null) {
-            for (var cooldown : cachedCooldowns) {
-                if (cooldown.KitId == kitId) {
-                    return cooldown;
-                }
+        long expiresAt = getCooldownExpiry(playerId, kitId);
+        if (expiresAt == NO_COOLDOWN)
+            return null;
+        return new KitCooldown(playerId, kitId, KitCooldown.fromEpochMilli(expiresAt));
+    }
+
+    /**
+     * Gets when the cooldown of a player for a kit expires.
+     * Loads the cooldowns of the player from the database if they are not in memory yet.
+     *
+     * @param playerId The UUID of the player.
+     * @param kitId The ID of the kit.
+     * @return The expiry in epoch milliseconds, or NO_COOLDOWN if there is none.
+     */
+    @Override
+    public long getCooldownExpiry(UUID playerId, long kitId) {
+        if (!_cooldownStore.isLoaded(playerId))
+            getKitCooldowns(playerId);
+        return _cooldownStore.getExpiry(playerId, kitId);
+    }
+
+    /**
+     * Gets when the cooldown of a player for a kit expires, without reading the database.
+     *
+     * @param playerId The UUID of the player.
+     * @param kitId The ID of the kit.
+     * @return The expiry in epoch milliseconds, or NO_COOLDOWN if there is none or the player is not loaded.
+     */
+    @Override
+    public long peekCooldownExpiry(UUID playerId, long kitId) {
+        return _cooldownStore.getExpiry(playerId, kitId);
+    }
+
+    /**
+     * Loads the cooldowns of a player from the database if they are not in memory yet.
+     *
+     * @param playerId The UUID of the player.
+     */
+    @Override
+    public void loadKitCooldowns(UUID playerId) {
+        if (!_cooldownStore.isLoaded(playerId))
+            getKitCooldowns(playerId);
+    }
+
+    /**
+     * Releases the cooldowns of a player from memory.
+     *
+     * @param playerId The UUID of the player.
+     */
+    @Override
+    public void unloadKitCooldowns(UUID playerId) {
+        _cooldownStore.unload(playerId);
+    }
+
+    /**
+     * Deletes expired cooldowns from the database, keeping the ones of one-time kits.
+     *
+     * @param now The current time in epoch milliseconds.
+     * @param limit The maximum number of rows to delete.
+     * @return The number of deleted rows.
+     */
+    @Override
+    public int purgeExpiredCooldowns(long now, int limit) {
+        try (Connection connection = _dataSource.getConnection())
+        {
+            try (PreparedStatement statement = connection.prepareStatement(_sql.PurgeExpiredCooldowns)) {
+                statement.setLong(1, now);
+                statement.setInt(2, limit);
+                return statement.executeUpdate();
             }
         }
+        catch (Exception ex)
+        {
+            _logger.error(String.format("Unknown error happened while purging expired cooldowns...\n%s", ex.getMessage()));
+            return 0;
+        }
+    }
 
-        KitCooldown data = null;
-        try (Connection connection = _dataSource.getConnection())
+    /**
+     * Takes a snapshot of the connection pool and write statistics.
+     *
+     * @return The current statistics.
+     */
+    @Override
+    public StorageStatistics getStatistics() {
+        return StorageStatistics.of("MySQL", _dataSource, _poolMetrics, 0);
+    }
+    //#endregion
+
+    //#region Claims
+    /**
+     * Stores items in the claim box of a player, one row per stack.
+     *
+     * @param playerId The UUID of the player.
+     * @param items The items to store.
+     * @return True if the items were stored.
+     */
+    @Override
+    public boolean addClaimItems(UUID playerId, List<ItemStack> items) {
+        if (items.isEmpty())
+            return true;
+
+        long now = System.currentTimeMillis();
+        try (Connection connection = _dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(_sql.InsertClaim))
         {
-            String sql = String.format("SELECT * FROM %s_cooldowns WHERE PlayerId=? AND KitId=? LIMIT 1;",
-                    getConfig().getString("storage.tablePrefix"));
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                statement.setString(1, playerId.toString());
-                statement.setLong(2, kitId);
-                try (ResultSet result = statement.executeQuery()) {
-                    if (result.next()) {
-                        data = new KitCooldown(
-                                UUID.fromString(result.getString("PlayerId")),
-                                result.getLong("KitId"),
-                                LocalDateTime.parse(result.getString("End"))
-                        );
-                    }
-                }
+            byte[] id = UuidUtils.toBytes(playerId);
+            for (var item : items) {
+                statement.setBytes(1, id);
+                statement.setBytes(2, OpenKits.ItemMetaSerializer.serializeItemStackListToBytes(List.of(item)));
+                statement.setLong(3, now);
+                statement.addBatch();
             }
+            statement.executeBatch();
+            return true;
         }
         catch (Exception ex)
         {
-            _logger.error(String.format("Unknown error happened while finding cooldown data...\n%s", ex.getMessage()));
-            return null;
+            _logger.error(String.format("Unknown error happened while storing %s claim items...\n%s", items.size(), ex.getMessage()));
+            return false;
         }
+    }
 
-        if (data != null) {
-            if (cachedCooldowns == null)
-                cachedCooldowns = new ArrayList<>(); // Make sure the list is initialized
-            cachedCooldowns.add(data);
-            _cooldownCache.put(playerId, cachedCooldowns);
+    /**
+     * Retrieves the items in the claim box of a player, oldest first.
+     *
+     * @param playerId The UUID of the player.
+     * @return The stored items, or null if they could not be read.
+     */
+    @Override
+    public List<ClaimItem> getClaimItems(UUID playerId) {
+        try (Connection connection = _dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(_sql.SelectClaims))
+        {
+            statement.setBytes(1, UuidUtils.toBytes(playerId));
+            try (ResultSet result = statement.executeQuery()) {
+                return ClaimItem.readAll(result);
+            }
         }
+        catch (Exception ex)
+        {
+            _logger.error(String.format("Unknown error happened while getting claim items...\n%s", ex.getMessage()));
+            return null;
+        }
+    }
 
-        return data;
+    /**
+     * Removes an item from the claim box of a player.
+     *
+     * @param playerId The UUID of the player.
+     * @param id The unique identifier of the stored item.
+     * @return True if the item was removed by this call.
+     */
+    @Override
+    public boolean removeClaimItem(UUID playerId, long id) {
+        try (Connection connection = _dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(_sql.DeleteClaim))
+        {
+            statement.setLong(1, id);
+            statement.setBytes(2, UuidUtils.toBytes(playerId));
+            return statement.executeUpdate() == 1;
+        }
+        catch (Exception ex)
+        {
+            _logger.error(String.format("Unknown error happened while removing a claim item...\n%s", ex.getMessage()));
+            return false;
+        }
     }
     //#endregion
 }
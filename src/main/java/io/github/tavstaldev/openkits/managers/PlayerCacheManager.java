@@ -1,16 +1,47 @@
 package io.github.tavstaldev.openkits.managers;
 
+import io.github.tavstaldev.openkits.OpenKits;
 import io.github.tavstaldev.openkits.models.PlayerCache;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Manages player data for the OpenKits plugin.
  * Provides methods to add, remove, and retrieve player data.
+ * Players that left the server are removed after a grace period, so rejoining players keep their data.
  */
 public class PlayerCacheManager {
-    private static final Map<UUID, PlayerCache> _playerData = new HashMap<>();
-    private static final Set<UUID> _markedForRemoval = new HashSet<>();
+    private static final Map<UUID, PlayerCache> _playerData = new ConcurrentHashMap<>();
+    private static final Map<UUID, Long> _markedForRemoval = new ConcurrentHashMap<>();
+    private static final DelayQueue<PendingRemoval> _removalQueue = new DelayQueue<>();
+    private static final AtomicLong _generation = new AtomicLong();
+
+    /**
+     * A scheduled removal of a player.
+     * The generation identifies the mark it was created for, so removals of older marks are ignored.
+     *
+     * @param playerId   the UUID of the player
+     * @param generation the generation of the mark
+     * @param dueAt      when the removal is due, in System.nanoTime() units
+     */
+    private record PendingRemoval(UUID playerId, long generation, long dueAt) implements Delayed {
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueAt - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            if (other instanceof PendingRemoval removal)
+                return Long.compare(dueAt, removal.dueAt);
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+        }
+    }
 
     /**
      * Adds player data to the manager.
@@ -42,16 +73,20 @@ public class PlayerCacheManager {
     }
 
     /**
-     * Marks a player for removal by adding their UUID to the removal set.
+     * Marks a player for removal after the grace period set in the configuration.
+     * Marking an already marked player restarts the grace period.
      *
      * @param playerId The UUID of the player to mark for removal.
      */
     public static void markForRemoval(UUID playerId) {
-        _markedForRemoval.add(playerId);
+        long gracePeriod = Math.max(0, OpenKits.config().getLong("playerCacheGracePeriod", 60));
+        long generation = _generation.incrementAndGet();
+        _markedForRemoval.put(playerId, generation);
+        _removalQueue.add(new PendingRemoval(playerId, generation, System.nanoTime() + TimeUnit.SECONDS.toNanos(gracePeriod)));
     }
 
     /**
-     * Unmarks a player for removal by removing their UUID from the removal set.
+     * Unmarks a player for removal. The scheduled removal is ignored once it is due.
      *
      * @param playerId The UUID of the player to unmark for removal.
      */
@@ -66,24 +101,42 @@ public class PlayerCacheManager {
      * @return true if the player is marked for removal, false otherwise.
      */
     public static boolean isMarkedForRemoval(UUID playerId) {
-        return _markedForRemoval.contains(playerId);
+        return _markedForRemoval.containsKey(playerId);
     }
 
     /**
-     * Checks if the set of players marked for removal is empty.
+     * Releases the menus of the players that closed them longer ago than the idle time.
      *
-     * @return true if no players are marked for removal, false otherwise.
+     * @param now the current time in epoch milliseconds
+     * @return the number of players whose menus were released
      */
-    public static boolean isMarkedForRemovalEmpty() {
-        return _markedForRemoval.isEmpty();
+    public static int releaseIdleMenus(long now) {
+        int released = 0;
+        for (PlayerCache playerCache : _playerData.values()) {
+            if (playerCache.releaseIdleMenus(now))
+                released++;
+        }
+        return released;
     }
 
     /**
-     * Retrieves the set of UUIDs representing players marked for removal.
+     * Removes the players whose grace period has ended and were not unmarked or marked again since.
      *
-     * @return A Set of UUIDs of players marked for removal.
+     * @return the UUIDs of the removed players
      */
-    public static Set<UUID> getMarkedForRemovalSet() {
-        return new HashSet<>(_markedForRemoval); // Return a copy to prevent external modification
+    public static List<UUID> removeExpired() {
+        List<UUID> removed = null;
+        PendingRemoval removal;
+        while ((removal = _removalQueue.poll()) != null) {
+            // Only the latest mark of a player may remove them
+            if (!_markedForRemoval.remove(removal.playerId(), removal.generation()))
+                continue;
+
+            _playerData.remove(removal.playerId());
+            if (removed == null)
+                removed = new ArrayList<>();
+            removed.add(removal.playerId());
+        }
+        return removed == null ? List.of() : removed;
     }
 }
@@ -0,0 +1,103 @@
+package io.github.tavstaldev.openkits.managers;
+
+import io.github.tavstaldev.minecorelib.core.PluginLogger;
+import io.github.tavstaldev.openkits.OpenKits;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Runs asynchronous tasks of the same player one after the other, while the tasks of different players run in parallel.
+ * Each player has its own chain of futures, so there is no lock shared between players and no thread is blocked while waiting.
+ */
+public class PlayerTaskQueue {
+    private static final PluginLogger _logger = OpenKits.logger().withModule(PlayerTaskQueue.class);
+    private final Map<UUID, Tail> _tails = new ConcurrentHashMap<>();
+    private final int _maxQueued;
+
+    /**
+     * The last task of a player and the number of tasks not finished yet.
+     * Only accessed inside the atomic map operations.
+     */
+    private static final class Tail {
+        private CompletableFuture<Void> future;
+        private int size;
+    }
+
+    /**
+     * Creates a new queue.
+     *
+     * @param maxQueued the maximum number of unfinished tasks per player, including the running one
+     */
+    public PlayerTaskQueue(int maxQueued) {
+        _maxQueued = Math.max(1, maxQueued);
+    }
+
+    /**
+     * Queues a task of a player. The task starts once the previous tasks of the player have finished.
+     *
+     * @param playerId the unique identifier of the player
+     * @param task     starts the task and returns a future completed when the task has finished
+     * @return false if the player already has the maximum number of unfinished tasks and the task was dropped
+     */
+    public boolean submit(UUID playerId, Supplier<CompletableFuture<?>> task) {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        @SuppressWarnings("unchecked")
+        CompletableFuture<Void>[] previous = new CompletableFuture[1];
+        boolean[] accepted = new boolean[1];
+        _tails.compute(playerId, (id, tail) -> {
+            if (tail == null)
+                tail = new Tail();
+            else if (tail.size >= _maxQueued)
+                return tail;
+
+            previous[0] = tail.future;
+            tail.future = done;
+            tail.size++;
+            accepted[0] = true;
+            return tail;
+        });
+        if (!accepted[0])
+            return false;
+
+        CompletableFuture<Void> start = previous[0] == null ? CompletableFuture.completedFuture(null) : previous[0];
+        start.thenCompose(ignored -> run(task))
+                .whenComplete((result, ex) -> {
+                    if (ex != null) {
+                        _logger.warn("Error while running a queued player task:");
+                        _logger.error(ex.getMessage());
+                    }
+                    _tails.computeIfPresent(playerId, (id, tail) -> --tail.size == 0 ? null : tail);
+                    done.complete(null);
+                });
+        return true;
+    }
+
+    /**
+     * Gets the number of players that have unfinished tasks.
+     *
+     * @return the number of players
+     */
+    public int size() {
+        return _tails.size();
+    }
+
+    /**
+     * Starts a task, turning an exception thrown while starting it into a failed future.
+     *
+     * @param task the task to start
+     * @return the future of the task
+     */
+    private static CompletableFuture<?> run(Supplier<CompletableFuture<?>> task) {
+        try {
+            CompletableFuture<?> future = task.get();
+            return future == null ? CompletableFuture.completedFuture(null) : future;
+        }
+        catch (Exception ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+}
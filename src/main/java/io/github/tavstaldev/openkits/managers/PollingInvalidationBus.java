@@ -0,0 +1,261 @@
+package io.github.tavstaldev.openkits.managers;
+
+import io.github.tavstaldev.minecorelib.core.PluginLogger;
+import io.github.tavstaldev.openkits.OpenKits;
+import io.github.tavstaldev.openkits.models.IInvalidationBus;
+import io.github.tavstaldev.openkits.models.Invalidation;
+import io.github.tavstaldev.openkits.utils.UuidUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Broadcasts the changes through a table of the shared database.
+ * Every server appends its changes to the table and periodically reads the rows added by the other servers.
+ * Works without online players and survives short outages of a server, as long as the rows are kept.
+ */
+public class PollingInvalidationBus implements IInvalidationBus {
+    private static final PluginLogger _logger = OpenKits.logger().withModule(PollingInvalidationBus.class);
+    // Auto-increment IDs are handed out before the commit, so a lower ID may appear after a higher one
+    private static final long GAP_TIMEOUT = 5000;
+    private static final int BATCH_SIZE = 500;
+    private static final long PURGE_INTERVAL = 60000;
+    private final DataSource _dataSource;
+    private final SqlStatements _sql;
+    private final String _serverId;
+    private final Queue<Invalidation> _outgoing = new ConcurrentLinkedQueue<>();
+    // Rows above the floor that were already read, with the time they were first seen
+    private final TreeMap<Long, Long> _seen = new TreeMap<>();
+    private ScheduledExecutorService _scheduler;
+    private Consumer<Invalidation> _handler;
+    private long _floor;
+    private long _lastPurge;
+
+    /**
+     * Creates a new polling bus.
+     *
+     * @param dataSource the connection pool of the shared database
+     * @param sql        the queries of the database
+     * @param serverId   the identifier of this server
+     */
+    public PollingInvalidationBus(DataSource dataSource, SqlStatements sql, String serverId) {
+        _dataSource = dataSource;
+        _sql = sql;
+        _serverId = serverId;
+    }
+
+    /**
+     * Starts polling the changes table. Only the changes made after the start are received.
+     *
+     * @param handler called with every change made on another server
+     */
+    @Override
+    public void start(Consumer<Invalidation> handler) {
+        _handler = handler;
+        try (Connection connection = _dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(_sql.SelectLastChangeId);
+             ResultSet result = statement.executeQuery()) {
+            _floor = result.next() ? result.getLong("Id") : 0;
+        }
+        catch (Exception ex) {
+            _logger.error(String.format("Unknown error happened while reading the changes table...\n%s", ex.getMessage()));
+        }
+
+        long pollInterval = Math.max(50, OpenKits.config().getLong("sync.pollInterval", 500));
+        _scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "OpenKits-Sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        _scheduler.scheduleWithFixedDelay(this::tick, pollInterval, pollInterval, TimeUnit.MILLISECONDS);
+        _logger.debug(String.format("Polling the changes table as %s.", _serverId));
+    }
+
+    /**
+     * Stops polling and writes the changes that are still waiting to be sent.
+     */
+    @Override
+    public void stop() {
+        if (_scheduler == null)
+            return;
+
+        _scheduler.shutdown();
+        try {
+            if (!_scheduler.awaitTermination(5, TimeUnit.SECONDS))
+                _logger.warn("The sync thread did not stop in time.");
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        send();
+        _scheduler = null;
+    }
+
+    /**
+     * Queues a change to be written with the next poll.
+     *
+     * @param invalidation the change to broadcast
+     */
+    @Override
+    public void publish(Invalidation invalidation) {
+        _outgoing.add(invalidation);
+    }
+
+    /**
+     * Gets the identifier of this server on the bus.
+     *
+     * @return the identifier of this server
+     */
+    @Override
+    public String getServerId() {
+        return _serverId;
+    }
+
+    /**
+     * Sends the queued changes, reads the new ones and deletes the old rows.
+     */
+    private void tick() {
+        send();
+        receive();
+        purge();
+    }
+
+    /**
+     * Writes the queued changes to the changes table in a single batch.
+     */
+    private void send() {
+        if (_outgoing.isEmpty())
+            return;
+
+        List<Invalidation> batch = new ArrayList<>();
+        Invalidation invalidation;
+        while ((invalidation = _outgoing.poll()) != null)
+            batch.add(invalidation);
+
+        long now = System.currentTimeMillis();
+        try (Connection connection = _dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(_sql.InsertChange)) {
+            for (var change : batch) {
+                statement.setString(1, change.ServerId);
+                statement.setInt(2, change.Type.ordinal());
+                statement.setLong(3, change.KitId);
+                if (change.PlayerId == null)
+                    statement.setNull(4, Types.BINARY);
+                else
+                    statement.setBytes(4, UuidUtils.toBytes(change.PlayerId));
+                statement.setLong(5, change.ExpiresAt);
+                statement.setLong(6, now);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+        catch (Exception ex) {
+            _logger.error(String.format("Unknown error happened while sending %s changes...\n%s", batch.size(), ex.getMessage()));
+        }
+    }
+
+    /**
+     * Reads the rows added since the last poll and passes the ones of the other servers to the handler.
+     */
+    private void receive() {
+        List<Invalidation> received = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        try (Connection connection = _dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(_sql.SelectChanges)) {
+            statement.setLong(1, _floor);
+            statement.setInt(2, BATCH_SIZE);
+            try (ResultSet result = statement.executeQuery()) {
+                while (result.next()) {
+                    long id = result.getLong("Id");
+                    if (_seen.putIfAbsent(id, now) != null)
+                        continue;
+
+                    String serverId = result.getString("ServerId");
+                    if (_serverId.equals(serverId))
+                        continue;
+
+                    int type = result.getInt("Type");
+                    if (type < 0 || type >= Invalidation.ChangeType.values().length)
+                        continue;
+
+                    byte[] playerId = result.getBytes("PlayerId");
+                    received.add(new Invalidation(
+                            serverId,
+                            Invalidation.ChangeType.values()[type],
+                            result.getLong("KitId"),
+                            playerId == null ? null : UuidUtils.fromBytes(playerId),
+                            result.getLong("ExpiresAt")
+                    ));
+                }
+            }
+        }
+        catch (Exception ex) {
+            _logger.error(String.format("Unknown error happened while polling the changes table...\n%s", ex.getMessage()));
+            return;
+        }
+
+        for (var invalidation : received) {
+            try {
+                _handler.accept(invalidation);
+            }
+            catch (Exception ex) {
+                _logger.error(String.format("Unknown error happened while applying a change of %s...\n%s", invalidation.ServerId, ex.getMessage()));
+            }
+        }
+        advanceFloor(now);
+    }
+
+    /**
+     * Moves the floor over the consecutive rows already read.
+     * A missing ID is waited for until the next row has been seen for longer than the gap timeout,
+     * after that it is treated as a rolled back insert.
+     *
+     * @param now the current time in epoch milliseconds
+     */
+    private void advanceFloor(long now) {
+        while (!_seen.isEmpty()) {
+            Map.Entry<Long, Long> first = _seen.firstEntry();
+            if (first.getKey() != _floor + 1 && now - first.getValue() < GAP_TIMEOUT)
+                return;
+
+            _floor = first.getKey();
+            _seen.pollFirstEntry();
+        }
+    }
+
+    /**
+     * Deletes the rows older than the retention time, at most once a minute.
+     */
+    private void purge() {
+        long now = System.currentTimeMillis();
+        if (now - _lastPurge < PURGE_INTERVAL)
+            return;
+
+        _lastPurge = now;
+        long retention = TimeUnit.SECONDS.toMillis(Math.max(10, OpenKits.config().getLong("sync.retention", 600)));
+        try (Connection connection = _dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(_sql.PurgeChanges)) {
+            statement.setLong(1, now - retention);
+            int deleted = statement.executeUpdate();
+            if (deleted > 0)
+                _logger.debug(String.format("Purged %s changes.", deleted));
+        }
+        catch (SQLException ex) {
+            _logger.error(String.format("Unknown error happened while purging the changes table...\n%s", ex.getMessage()));
+        }
+    }
+}
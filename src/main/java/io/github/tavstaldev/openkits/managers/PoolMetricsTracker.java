@@ -0,0 +1,91 @@
+package io.github.tavstaldev.openkits.managers;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects how long the threads wait for a connection of a HikariCP pool.
+ * Registered as the metrics tracker factory of the pool, so HikariCP reports every acquisition to it.
+ */
+public class PoolMetricsTracker implements MetricsTrackerFactory, IMetricsTracker {
+    private final LongAdder _acquireCount = new LongAdder();
+    private final LongAdder _acquireNanos = new LongAdder();
+    private final AtomicLong _maxAcquireNanos = new AtomicLong();
+    private final LongAdder _timeoutCount = new LongAdder();
+
+    /**
+     * Called by HikariCP when the pool starts.
+     *
+     * @param poolName  the name of the pool
+     * @param poolStats the statistics of the pool
+     * @return this tracker
+     */
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        return this;
+    }
+
+    /**
+     * Records how long a thread waited for a connection.
+     *
+     * @param elapsedAcquiredNanos the time spent waiting, in nanoseconds
+     */
+    @Override
+    public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+        _acquireCount.increment();
+        _acquireNanos.add(elapsedAcquiredNanos);
+        _maxAcquireNanos.accumulateAndGet(elapsedAcquiredNanos, Math::max);
+    }
+
+    /**
+     * Records that a thread gave up waiting for a connection.
+     */
+    @Override
+    public void recordConnectionTimeout() {
+        _timeoutCount.increment();
+    }
+
+    /**
+     * Gets the number of acquired connections.
+     *
+     * @return the number of acquisitions
+     */
+    public long getAcquireCount() {
+        return _acquireCount.sum();
+    }
+
+    /**
+     * Gets the average time a thread waited for a connection.
+     *
+     * @return the average wait in milliseconds, or 0 if no connection was acquired yet
+     */
+    public double getAverageAcquireMillis() {
+        long count = _acquireCount.sum();
+        if (count == 0)
+            return 0;
+        return _acquireNanos.sum() / (double) count / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * Gets the longest time a thread waited for a connection.
+     *
+     * @return the longest wait in milliseconds
+     */
+    public double getMaxAcquireMillis() {
+        return _maxAcquireNanos.get() / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * Gets the number of threads that gave up waiting for a connection.
+     *
+     * @return the number of timeouts
+     */
+    public long getTimeoutCount() {
+        return _timeoutCount.sum();
+    }
+}
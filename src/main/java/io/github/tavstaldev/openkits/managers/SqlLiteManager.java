@@ -1,70 +1,133 @@
 package io.github.tavstaldev.openkits.managers;
 
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
 import io.github.tavstaldev.minecorelib.core.PluginLogger;
 import io.github.tavstaldev.openkits.OpenKits;
+import io.github.tavstaldev.openkits.models.ClaimItem;
 import io.github.tavstaldev.openkits.models.IDatabase;
 import io.github.tavstaldev.openkits.models.Kit;
 import io.github.tavstaldev.openkits.models.KitCooldown;
+import io.github.tavstaldev.openkits.models.RedeemResult;
+import io.github.tavstaldev.openkits.models.StorageStatistics;
+import io.github.tavstaldev.openkits.utils.UuidUtils;
 import org.bukkit.Material;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.inventory.ItemStack;
-import org.jetbrains.annotations.NotNull;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
 import java.util.UUID;
-import java.util.concurrent.TimeUnit;
 
 /**
  * Manages SQLite database connections and operations for the OpenKits plugin.
  * Implements the IDatabase interface to provide methods for loading, unloading,
  * and managing the database schema.
+ * Reads use a pool of persistent connections, while every write is executed by a single writer thread.
+ * The database runs in WAL mode, so the readers are never blocked by the writer.
  */
 public class SqlLiteManager implements IDatabase {
     private static FileConfiguration getConfig() { return OpenKits.Instance.getConfig(); }
     private static final PluginLogger _logger = OpenKits.logger().withModule(SqlLiteManager.class);
-    private final Cache<@NotNull Long, Kit> _kitCache = Caffeine.newBuilder()
-            .maximumSize(1000)
-            .expireAfterWrite(3, TimeUnit.MINUTES)
-            .build();
-    private final Cache<@NotNull UUID, List<KitCooldown>> _cooldownCache = Caffeine.newBuilder()
-            .maximumSize(1000)
-            .expireAfterWrite(1, TimeUnit.MINUTES)
-            .build();
+    private static final int SCHEMA_VERSION = 2;
+    private final KitRegistry _kitRegistry = new KitRegistry();
+    private final CooldownStore _cooldownStore = new CooldownStore();
+    private final PoolMetricsTracker _poolMetrics = new PoolMetricsTracker();
+    private SqlStatements _sql;
+    private HikariDataSource _readers;
+    private SqlLiteWriter _writer;
 
     /**
-     * Loads the database manager. No operation is performed for SQLite.
+     * Loads the database manager, opens the reader pool and the writer, ensures the schema exists,
+     * and fills the kit registry.
      */
     @Override
-    public void load() {}
+    public void load() {
+        _sql = new SqlStatements(getConfig().getString("storage.tablePrefix"), SqlStatements.Dialect.SQLITE);
+        Properties properties = createConnectionProperties();
+        _writer = new SqlLiteWriter(getJdbcUrl(), properties);
+        // The schema has to exist and WAL mode has to be enabled before the readers connect
+        checkSchema();
+        _readers = CreateDataSource(properties);
+        loadKits();
+    }
 
     /**
-     * Unloads the database manager. No operation is performed for SQLite.
+     * Unloads the database manager, closing the writer and the reader pool.
      */
     @Override
-    public void unload() {}
+    public void unload() {
+        if (_writer != null)
+            _writer.close();
+
+        if (_readers != null) {
+            if (!_readers.isClosed())
+                _readers.close();
+        }
+    }
+
+    /**
+     * Gets the JDBC url of the SQLite database file.
+     *
+     * @return The JDBC url.
+     */
+    private static String getJdbcUrl() {
+        return String.format("jdbc:sqlite:plugins/OpenKits/%s.db", getConfig().getString("storage.filename"));
+    }
 
     /**
-     * Creates a connection to the SQLite database.
+     * Creates the properties shared by every connection.
+     * The SQLite driver applies them as pragmas when a connection is opened.
      *
-     * @return A Connection object to the SQLite database, or null if an error occurs.
+     * @return The connection properties.
      */
-    public Connection CreateConnection() {
+    private static Properties createConnectionProperties() {
+        Properties properties = new Properties();
+        properties.setProperty("journal_mode", "WAL");
+        // In WAL mode only checkpoints are synced, so commits do not wait for the disk
+        properties.setProperty("synchronous", "NORMAL");
+        properties.setProperty("busy_timeout", String.valueOf(Math.max(0, OpenKits.config().getInt("storage.sqlite.busyTimeout", 5000))));
+        return properties;
+    }
+
+    /**
+     * Creates and configures a HikariCP data source holding the reader connections of the SQLite database.
+     *
+     * @param properties The connection properties.
+     * @return A configured HikariDataSource instance, or null if an error occurs.
+     */
+    public HikariDataSource CreateDataSource(Properties properties) {
         try
         {
-            Class.forName("org.sqlite.JDBC");
-            return DriverManager.getConnection(String.format("jdbc:sqlite:plugins/OpenKits/%s.db", getConfig().getString("storage.filename")));
+            HikariConfig config = new HikariConfig();
+            config.setPoolName("OpenKits-SQLiteReaders");
+            config.setDriverClassName("org.sqlite.JDBC");
+            config.setJdbcUrl(getJdbcUrl());
+            for (String name : properties.stringPropertyNames())
+                config.addDataSourceProperty(name, properties.getProperty(name));
+            // Guards against writes that bypass the writer thread
+            config.setConnectionInitSql("PRAGMA query_only=ON;");
+            int readers = Math.max(1, OpenKits.config().getInt("storage.sqlite.readers", 4));
+            config.setMaximumPoolSize(readers);
+            config.setMinimumIdle(readers);
+            // The connections are local files, there is no server that could drop them
+            config.setMaxLifetime(0);
+            config.setIdleTimeout(0);
+            config.setMetricsTrackerFactory(_poolMetrics);
+            return new HikariDataSource(config);
         }
         catch (Exception ex)
         {
-            _logger.error(String.format("Unknown error happened while creating db connection...\n%s", ex.getMessage()));
+            _logger.error(String.format("Unknown error happened during the creation of database connection...\n%s", ex.getMessage()));
             return null;
         }
     }
@@ -74,34 +137,10 @@ public class SqlLiteManager implements IDatabase {
      */
     @Override
     public void checkSchema() {
-        try (Connection connection = CreateConnection())
-        {
-            // Kits
-            String sql = String.format("CREATE TABLE IF NOT EXISTS %s_kits (" +
-                            "Id INTEGER PRIMARY KEY AUTOINCREMENT, " +
-                            "Name VARCHAR(35), " +
-                            "Icon VARCHAR(200), " +
-                            "Price DECIMAL, " +
-                            "RequirePermission BOOLEAN, " +
-                            "Permission VARCHAR(200), " +
-                            "Cooldown BIGINT, " +
-                            "IsOneTime BOOLEAN, " +
-                            "Enable BOOLEAN, " +
-                            "Items BLOB);",
-                    getConfig().getString("storage.tablePrefix")
-            );
-            PreparedStatement statement = connection.prepareStatement(sql);
-            statement.executeUpdate();
-
-            // Cooldowns
-            sql = String.format("CREATE TABLE IF NOT EXISTS %s_cooldowns (" +
-                            "PlayerId VARCHAR(36), " +
-                            "KitId BIGINT, " +
-                            "End VARCHAR(200));",
-                    getConfig().getString("storage.tablePrefix")
-            );
-            statement = connection.prepareStatement(sql);
-            statement.executeUpdate();
+        try
+        {
+            // Every statement runs in the same transaction, so a failed migration leaves the schema untouched
+            _writer.execute(this::createSchema);
         }
         catch (Exception ex)
         {
@@ -109,6 +148,287 @@ public class SqlLiteManager implements IDatabase {
         }
     }
 
+    /**
+     * Creates the tables that do not exist yet and migrates the existing ones.
+     *
+     * @param connection The writer connection.
+     * @return Always null.
+     * @throws SQLException If the schema could not be created or migrated.
+     */
+    private Void createSchema(Connection connection) throws SQLException {
+        // Kits
+        String sql = String.format("CREATE TABLE IF NOT EXISTS %s (" +
+                        "Id INTEGER PRIMARY KEY AUTOINCREMENT, " +
+                        "Name VARCHAR(35), " +
+                        "NameLower VARCHAR(35), " +
+                        "Icon VARCHAR(200), " +
+                        "Price DECIMAL, " +
+                        "RequirePermission BOOLEAN, " +
+                        "Permission VARCHAR(200), " +
+                        "Cooldown BIGINT, " +
+                        "IsOneTime BOOLEAN, " +
+                        "Enable BOOLEAN, " +
+                        "Items BLOB);",
+                _sql.KitsTable
+        );
+        PreparedStatement statement = connection.prepareStatement(sql);
+        statement.executeUpdate();
+
+        // Meta
+        sql = String.format("CREATE TABLE IF NOT EXISTS %s (" +
+                        "Name VARCHAR(64) PRIMARY KEY, " +
+                        "Value VARCHAR(200));",
+                _sql.MetaTable
+        );
+        statement = connection.prepareStatement(sql);
+        statement.executeUpdate();
+
+        // Claims, items that did not fit into the inventory
+        sql = String.format("CREATE TABLE IF NOT EXISTS %s (" +
+                        "Id INTEGER PRIMARY KEY AUTOINCREMENT, " +
+                        "PlayerId BLOB NOT NULL, " +
+                        "Item BLOB NOT NULL, " +
+                        "CreatedAt BIGINT NOT NULL);",
+                _sql.ClaimsTable
+        );
+        statement = connection.prepareStatement(sql);
+        statement.executeUpdate();
+        executeUpdate(connection, String.format("CREATE INDEX IF NOT EXISTS %s_PlayerId ON %s (PlayerId);", _sql.ClaimsTable, _sql.ClaimsTable));
+
+        // A failed name index only weakens the name lookups, the other migrations still have to run
+        try {
+            migrateNameIndex(connection);
+        }
+        catch (SQLException ex) {
+            _logger.error(String.format("Unknown error happened while creating the kit name index...\n%s", ex.getMessage()));
+        }
+
+        // Cooldowns
+        migrateCooldowns(connection);
+        return null;
+    }
+
+    /**
+     * Adds the lowercased name column and its unique index to the kits table if they are missing.
+     * Tables created by older versions are filled from the existing names.
+     *
+     * @param connection The connection to use.
+     * @throws SQLException If the migration fails, for example when two kits only differ in case.
+     */
+    private void migrateNameIndex(Connection connection) throws SQLException {
+        String table = _sql.KitsTable;
+        if (!hasColumn(connection, table, "NameLower")) {
+            try (PreparedStatement statement = connection.prepareStatement(String.format("ALTER TABLE %s ADD COLUMN NameLower VARCHAR(35);", table))) {
+                statement.executeUpdate();
+            }
+        }
+
+        try (PreparedStatement statement = connection.prepareStatement(String.format("UPDATE %s SET NameLower=LOWER(Name) WHERE NameLower IS NULL;", table))) {
+            statement.executeUpdate();
+        }
+
+        // The index cannot be created while two kits only differ in case, report them instead of failing the schema check
+        List<List<String>> duplicates = findCaseDuplicateNames(connection, table);
+        if (!duplicates.isEmpty()) {
+            for (List<String> group : duplicates)
+                _logger.error(String.format("The kits %s only differ in case, rename or delete all but one of them.", String.join(", ", group)));
+            _logger.error("Kit names are not unique ignoring case, until this is fixed only one of them can be found by name.");
+            return;
+        }
+
+        try (PreparedStatement statement = connection.prepareStatement(String.format("CREATE UNIQUE INDEX IF NOT EXISTS %s_NameLower ON %s (NameLower);", table, table))) {
+            statement.executeUpdate();
+        }
+    }
+
+    /**
+     * Finds the kits whose names only differ in case, which prevent creating the unique name index.
+     *
+     * @param connection The connection to use.
+     * @param table The name of the kits table.
+     * @return The names of the conflicting kits, grouped by their lowercased name.
+     * @throws SQLException If the names could not be read.
+     */
+    private List<List<String>> findCaseDuplicateNames(Connection connection, String table) throws SQLException {
+        Map<String, List<String>> names = new LinkedHashMap<>();
+        try (PreparedStatement statement = connection.prepareStatement(String.format("SELECT Name FROM %s WHERE Name IS NOT NULL ORDER BY Id;", table));
+             ResultSet result = statement.executeQuery()) {
+            while (result.next()) {
+                String name = result.getString("Name");
+                names.computeIfAbsent(name.toLowerCase(Locale.ROOT), key -> new ArrayList<>()).add(name);
+            }
+        }
+
+        List<List<String>> duplicates = new ArrayList<>();
+        for (List<String> group : names.values()) {
+            if (group.size() > 1)
+                duplicates.add(group);
+        }
+        return duplicates;
+    }
+
+    /**
+     * Checks whether a table has the given column.
+     *
+     * @param connection The connection to use.
+     * @param table The name of the table.
+     * @param column The name of the column.
+     * @return True if the column exists, false otherwise.
+     * @throws SQLException If the metadata could not be read.
+     */
+    private boolean hasColumn(Connection connection, String table, String column) throws SQLException {
+        try (ResultSet columns = connection.getMetaData().getColumns(null, null, table, null)) {
+            while (columns.next()) {
+                if (column.equalsIgnoreCase(columns.getString("COLUMN_NAME")))
+                    return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Brings the cooldowns table to the current schema version.
+     * Version 1 stored the player ID as text and the end of the cooldown as a date string, without any key.
+     * Version 2 stores the player ID as 16 bytes and the expiry as epoch milliseconds, keyed by player and kit.
+     *
+     * @param connection The connection to use.
+     * @throws SQLException If the migration fails.
+     */
+    private void migrateCooldowns(Connection connection) throws SQLException {
+        String table = _sql.CooldownsTable;
+        String legacyTable = table + "_v1";
+        String version = getMeta(connection, "schemaVersion");
+        if (version != null && Integer.parseInt(version) >= SCHEMA_VERSION)
+            return;
+
+        // A failed migration may have renamed the table already
+        if (hasTable(connection, table) && hasColumn(connection, table, "End"))
+            executeUpdate(connection, String.format("ALTER TABLE %s RENAME TO %s;", table, legacyTable));
+
+        executeUpdate(connection, String.format("CREATE TABLE IF NOT EXISTS %s (" +
+                        "PlayerId BLOB NOT NULL, " +
+                        "KitId BIGINT NOT NULL, " +
+                        "ExpiresAt BIGINT NOT NULL, " +
+                        "PRIMARY KEY (PlayerId, KitId));", table));
+        executeUpdate(connection, String.format("CREATE INDEX IF NOT EXISTS %s_ExpiresAt ON %s (ExpiresAt);", table, table));
+
+        if (hasTable(connection, legacyTable)) {
+            _logger.info("Migrating the cooldowns table, this may take a while...");
+            long migrated = copyLegacyCooldowns(connection, legacyTable, table);
+            executeUpdate(connection, String.format("DROP TABLE %s;", legacyTable));
+            _logger.info(String.format("Migrated %s cooldowns.", migrated));
+        }
+
+        setMeta(connection, "schemaVersion", String.valueOf(SCHEMA_VERSION));
+    }
+
+    /**
+     * Copies the rows of the version 1 cooldowns table into the current one.
+     * Duplicate rows of a player and kit are merged, keeping the latest expiry.
+     * Runs inside the schema transaction of the writer, so the copy is only kept if the whole migration succeeds.
+     *
+     * @param connection The connection to use.
+     * @param legacyTable The name of the version 1 table.
+     * @param table The name of the current table.
+     * @return The number of copied rows.
+     * @throws SQLException If the rows could not be copied.
+     */
+    private long copyLegacyCooldowns(Connection connection, String legacyTable, String table) throws SQLException {
+        String sql = String.format("INSERT INTO %s (PlayerId, KitId, ExpiresAt) VALUES (?, ?, ?) " +
+                "ON CONFLICT (PlayerId, KitId) DO UPDATE SET ExpiresAt=MAX(ExpiresAt, excluded.ExpiresAt);", table);
+        long copied = 0;
+        long skipped = 0;
+        try (PreparedStatement select = connection.prepareStatement(String.format("SELECT PlayerId, KitId, End FROM %s;", legacyTable));
+             PreparedStatement insert = connection.prepareStatement(sql)) {
+            try (ResultSet result = select.executeQuery()) {
+                while (result.next()) {
+                    UUID playerId;
+                    long expiresAt;
+                    try {
+                        playerId = UUID.fromString(result.getString("PlayerId"));
+                        expiresAt = KitCooldown.toEpochMilli(LocalDateTime.parse(result.getString("End")));
+                    }
+                    catch (Exception ex) {
+                        skipped++;
+                        continue;
+                    }
+
+                    insert.setBytes(1, UuidUtils.toBytes(playerId));
+                    insert.setLong(2, result.getLong("KitId"));
+                    insert.setLong(3, expiresAt);
+                    insert.addBatch();
+                    if (++copied % 1000 == 0)
+                        insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+
+        if (skipped > 0)
+            _logger.warn(String.format("Skipped %s cooldowns that could not be read.", skipped));
+        return copied;
+    }
+
+    /**
+     * Reads a value from the meta table.
+     *
+     * @param connection The connection to use.
+     * @param name The name of the value.
+     * @return The value, or null if it is not set.
+     * @throws SQLException If the value could not be read.
+     */
+    private String getMeta(Connection connection, String name) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(_sql.SelectMeta)) {
+            statement.setString(1, name);
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next() ? result.getString("Value") : null;
+            }
+        }
+    }
+
+    /**
+     * Writes a value to the meta table.
+     *
+     * @param connection The connection to use.
+     * @param name The name of the value.
+     * @param value The value to write.
+     * @throws SQLException If the value could not be written.
+     */
+    private void setMeta(Connection connection, String name, String value) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(_sql.UpsertMeta)) {
+            statement.setString(1, name);
+            statement.setString(2, value);
+            statement.executeUpdate();
+        }
+    }
+
+    /**
+     * Checks whether a table exists.
+     *
+     * @param connection The connection to use.
+     * @param table The name of the table.
+     * @return True if the table exists, false otherwise.
+     * @throws SQLException If the metadata could not be read.
+     */
+    private boolean hasTable(Connection connection, String table) throws SQLException {
+        try (ResultSet tables = connection.getMetaData().getTables(null, null, table, null)) {
+            return tables.next();
+        }
+    }
+
+    /**
+     * Executes a statement without parameters.
+     *
+     * @param connection The connection to use.
+     * @param sql The statement to execute.
+     * @throws SQLException If the statement fails.
+     */
+    private void executeUpdate(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.executeUpdate();
+        }
+    }
+
     //#region Kits
     /**
      * Adds a new kit to the database with the specified attributes.
@@ -125,41 +445,42 @@ public class SqlLiteManager implements IDatabase {
      */
     @Override
     public void addKit(String name, Material icon, Double price, boolean requirePermission, String permission, long cooldown, boolean isOneTime, boolean enable, List<ItemStack> items) {
-        try (Connection connection = CreateConnection())
+        try
         {
             byte[] serializedItems = OpenKits.ItemMetaSerializer.serializeItemStackListToBytes(items);
-            String sql = String.format("INSERT INTO %s_kits (Name, Icon, Price, RequirePermission, Permission, Cooldown, IsOneTime, Enable, Items) " +
-                            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?);",
-                    getConfig().getString("storage.tablePrefix"));
-
-
-            long id;
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                // Set parameters for the prepared statement
-                statement.setString(1, name);  // Kit name
-                statement.setString(2, icon.name());  // Material icon as a string
-                statement.setDouble(3, price);  // Price
-                statement.setBoolean(4, requirePermission);  // Require Permission
-                statement.setString(5, permission);  // Permission (string)
-                statement.setLong(6, cooldown);  // Cooldown
-                statement.setBoolean(7, isOneTime);  // Is One Time
-                statement.setBoolean(8, enable);  // Is Enabled
-                statement.setBytes(9, serializedItems);  // Serialized Items (e.g., JSON or Base64 string)
-
-                // Execute the query
-                statement.executeUpdate();
 
-                try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
-                    if (generatedKeys.next()) {
-                        id = generatedKeys.getLong("Id");
-                    } else {
-                        _logger.warn("Could not retrieve auto-incremented ID after INSERT.");
-                        return;
+            Long id = _writer.execute(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(_sql.InsertKit)) {
+                    // Set parameters for the prepared statement
+                    statement.setString(1, name);  // Kit name
+                    statement.setString(2, KitRegistry.normalize(name));  // Lowercased kit name
+                    statement.setString(3, icon.name());  // Material icon as a string
+                    statement.setDouble(4, price);  // Price
+                    statement.setBoolean(5, requirePermission);  // Require Permission
+                    statement.setString(6, permission);  // Permission (string)
+                    statement.setLong(7, cooldown);  // Cooldown
+                    statement.setBoolean(8, isOneTime);  // Is One Time
+                    statement.setBoolean(9, enable);  // Is Enabled
+                    statement.setBytes(10, serializedItems);  // Serialized Items (e.g., JSON or Base64 string)
+
+                    // Execute the query
+                    statement.executeUpdate();
+
+                    try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
+                        if (generatedKeys.next()) {
+                            return generatedKeys.getLong("Id");
+                        } else {
+                            return null;
+                        }
                     }
                 }
+            });
+            if (id == null) {
+                _logger.warn("Could not retrieve auto-incremented ID after INSERT.");
+                return;
             }
 
-            _kitCache.put(id, new Kit(id, name, icon.name(), price, requirePermission, permission, cooldown, isOneTime, enable, serializedItems));
+            _kitRegistry.put(new Kit(id, name, icon.name(), price, requirePermission, permission, cooldown, isOneTime, enable, serializedItems));
         }
         catch (Exception ex)
         {
@@ -175,21 +496,18 @@ public class SqlLiteManager implements IDatabase {
      */
     @Override
     public void updateKitName(long id, String name) {
-        try (Connection connection = CreateConnection())
+        try
         {
-            String sql = String.format("UPDATE %s_kits SET Name=? WHERE Id=?;",
-                    getConfig().getString("storage.tablePrefix"));
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                statement.setString(1, name);
-                statement.setLong(2, id);
-                statement.executeUpdate();
-            }
+            _writer.execute(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(_sql.UpdateKitName)) {
+                    statement.setString(1, name);
+                    statement.setString(2, KitRegistry.normalize(name));
+                    statement.setLong(3, id);
+                    return statement.executeUpdate();
+                }
+            });
 
-            var kitResult = _kitCache.getIfPresent(id);
-            if (kitResult != null) {
-                kitResult.Name = name;
-                _kitCache.put(id, kitResult);
-            }
+            _kitRegistry.rename(id, name);
         }
         catch (Exception ex)
         {
@@ -206,22 +524,21 @@ public class SqlLiteManager implements IDatabase {
      */
     @Override
     public void updateKitPermission(long id, boolean requirePermission, String permission) {
-        try (Connection connection = CreateConnection())
-        {
-            String sql = String.format("UPDATE %s_kits SET RequirePermission=?, Permission=? WHERE Id=?;",
-                    getConfig().getString("storage.tablePrefix"));
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                statement.setBoolean(1, requirePermission);
-                statement.setString(2, permission);
-                statement.setLong(3, id);
-                statement.executeUpdate();
-            }
+        try
+        {
+            _writer.execute(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(_sql.UpdateKitPermission)) {
+                    statement.setBoolean(1, requirePermission);
+                    statement.setString(2, permission);
+                    statement.setLong(3, id);
+                    return statement.executeUpdate();
+                }
+            });
 
-            var kitResult = _kitCache.getIfPresent(id);
+            var kitResult = _kitRegistry.find(id);
             if (kitResult != null) {
                 kitResult.RequirePermission = requirePermission;
                 kitResult.Permission = permission;
-                _kitCache.put(id, kitResult);
             }
         }
         catch (Exception ex)
@@ -238,22 +555,20 @@ public class SqlLiteManager implements IDatabase {
      */
     @Override
     public void updateKitItems(long id, List<ItemStack> items) {
-        try (Connection connection = CreateConnection())
+        try
         {
-            String sql = String.format("UPDATE %s_kits SET Items=? WHERE Id=?;",
-                    getConfig().getString("storage.tablePrefix"));
-
             var serializedItems = OpenKits.ItemMetaSerializer.serializeItemStackListToBytes(items);
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                statement.setBytes(1, serializedItems);
-                statement.setLong(2, id);
-                statement.executeUpdate();
-            }
+            _writer.execute(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(_sql.UpdateKitItems)) {
+                    statement.setBytes(1, serializedItems);
+                    statement.setLong(2, id);
+                    return statement.executeUpdate();
+                }
+            });
 
-            var kitResult = _kitCache.getIfPresent(id);
+            var kitResult = _kitRegistry.find(id);
             if (kitResult != null) {
                 kitResult.Items = serializedItems;
-                _kitCache.put(id, kitResult);
             }
         }
         catch (Exception ex)
@@ -270,20 +585,19 @@ public class SqlLiteManager implements IDatabase {
      */
     @Override
     public void updateKitPrice(long id, Double price) {
-        try (Connection connection = CreateConnection())
+        try
         {
-            String sql = String.format("UPDATE %s_kits SET Price=? WHERE Id=?;",
-                    getConfig().getString("storage.tablePrefix"));
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                statement.setDouble(1, price);
-                statement.setLong(2, id);
-                statement.executeUpdate();
-            }
+            _writer.execute(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(_sql.UpdateKitPrice)) {
+                    statement.setDouble(1, price);
+                    statement.setLong(2, id);
+                    return statement.executeUpdate();
+                }
+            });
 
-            var kitResult = _kitCache.getIfPresent(id);
+            var kitResult = _kitRegistry.find(id);
             if (kitResult != null) {
                 kitResult.Price = price;
-                _kitCache.put(id, kitResult);
             }
         }
         catch (Exception ex)
@@ -300,20 +614,19 @@ public class SqlLiteManager implements IDatabase {
      */
     @Override
     public void updateKitCooldown(long id, long cooldown) {
-        try (Connection connection = CreateConnection())
+        try
         {
-            String sql = String.format("UPDATE %s_kits SET Cooldown=? WHERE Id=?;",
-                    getConfig().getString("storage.tablePrefix"));
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                statement.setLong(1, cooldown);
-                statement.setLong(2, id);
-                statement.executeUpdate();
-            }
+            _writer.execute(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(_sql.UpdateKitCooldown)) {
+                    statement.setLong(1, cooldown);
+                    statement.setLong(2, id);
+                    return statement.executeUpdate();
+                }
+            });
 
-            var kitResult = _kitCache.getIfPresent(id);
+            var kitResult = _kitRegistry.find(id);
             if (kitResult != null) {
                 kitResult.Cooldown = cooldown;
-                _kitCache.put(id, kitResult);
             }
         }
         catch (Exception ex)
@@ -330,20 +643,19 @@ public class SqlLiteManager implements IDatabase {
      */
     @Override
     public void updateKitEnabled(long id, boolean enable) {
-        try (Connection connection = CreateConnection())
+        try
         {
-            String sql = String.format("UPDATE %s_kits SET Enable=? WHERE Id=?;",
-                    getConfig().getString("storage.tablePrefix"));
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                statement.setBoolean(1, enable);
-                statement.setLong(2, id);
-                statement.executeUpdate();
-            }
+            _writer.execute(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(_sql.UpdateKitEnabled)) {
+                    statement.setBoolean(1, enable);
+                    statement.setLong(2, id);
+                    return statement.executeUpdate();
+                }
+            });
 
-            var kitResult = _kitCache.getIfPresent(id);
+            var kitResult = _kitRegistry.find(id);
             if (kitResult != null) {
                 kitResult.Enable = enable;
-                _kitCache.put(id, kitResult);
             }
         }
         catch (Exception ex)
@@ -360,20 +672,19 @@ public class SqlLiteManager implements IDatabase {
      */
     @Override
     public void updateKitIcon(long id, Material icon) {
-        try (Connection connection = CreateConnection())
+        try
         {
-            String sql = String.format("UPDATE %s_kits SET Icon=? WHERE Id=?;",
-                    getConfig().getString("storage.tablePrefix"));
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                statement.setString(1, icon.name());
-                statement.setLong(2, id);
-                statement.executeUpdate();
-            }
+            _writer.execute(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(_sql.UpdateKitIcon)) {
+                    statement.setString(1, icon.name());
+                    statement.setLong(2, id);
+                    return statement.executeUpdate();
+                }
+            });
 
-            var kitResult = _kitCache.getIfPresent(id);
+            var kitResult = _kitRegistry.find(id);
             if (kitResult != null) {
                 kitResult.Icon = icon.name();
-                _kitCache.put(id, kitResult);
             }
         }
         catch (Exception ex)
@@ -390,20 +701,19 @@ public class SqlLiteManager implements IDatabase {
      */
     @Override
     public void updateKitOneTime(long id, boolean isOneTime) {
-        try (Connection connection = CreateConnection())
+        try
         {
-            String sql = String.format("UPDATE %s_kits SET IsOneTime=? WHERE Id=?;",
-                    getConfig().getString("storage.tablePrefix"));
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                statement.setBoolean(1, isOneTime);
-                statement.setLong(2, id);
-                statement.executeUpdate();
-            }
+            _writer.execute(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(_sql.UpdateKitOneTime)) {
+                    statement.setBoolean(1, isOneTime);
+                    statement.setLong(2, id);
+                    return statement.executeUpdate();
+                }
+            });
 
-            var kitResult = _kitCache.getIfPresent(id);
+            var kitResult = _kitRegistry.find(id);
             if (kitResult != null) {
                 kitResult.IsOneTime = isOneTime;
-                _kitCache.put(id, kitResult);
             }
         }
         catch (Exception ex)
@@ -419,19 +729,19 @@ public class SqlLiteManager implements IDatabase {
      */
     @Override
     public void removeKit(long id) {
-        try (Connection connection = CreateConnection())
-        {
-            String sql = String.format("DELETE FROM %s_kits WHERE Id=?;",
-                    getConfig().getString("storage.tablePrefix"));
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                statement.setLong(1, id);
-                int rowsAffected = statement.executeUpdate();
-                if (rowsAffected == 0) {
-                    _logger.warn("No kit found with the specified ID: " + id);
+        try
+        {
+            int rowsAffected = _writer.execute(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(_sql.DeleteKit)) {
+                    statement.setLong(1, id);
+                    return statement.executeUpdate();
                 }
+            });
+            if (rowsAffected == 0) {
+                _logger.warn("No kit found with the specified ID: " + id);
             }
 
-            _kitCache.invalidate(id);
+            _kitRegistry.remove(id);
         }
         catch (Exception ex)
         {
@@ -440,143 +750,94 @@ public class SqlLiteManager implements IDatabase {
     }
 
     /**
-     * Retrieves all kits from the database.
+     * Retrieves all kits from the kit registry.
+     * The registry always holds every kit, so the database is not queried.
      *
-     * @return A list of all kits in the database.
+     * @return An immutable list of all kits.
      */
     @Override
     public List<Kit> getKits() {
-        var kitMap = _kitCache.asMap();
-        if (!kitMap.isEmpty()) {
-            return kitMap.values().stream().toList();
-        }
+        return _kitRegistry.getKits();
+    }
 
+    /**
+     * Reads every kit from the database and fills the kit registry with them.
+     */
+    private void loadKits() {
         List<Kit> data = new ArrayList<>();
-        try (Connection connection = CreateConnection())
+        try (Connection connection = _readers.getConnection())
         {
-            String sql = String.format("SELECT * FROM %s_kits;",
-                    getConfig().getString("storage.tablePrefix"));
-            try (PreparedStatement statement = connection.prepareStatement(sql);
+            try (PreparedStatement statement = connection.prepareStatement(_sql.SelectKits);
                  ResultSet result = statement.executeQuery()) {
 
                 while (result.next()) {
-                    data.add(new Kit(
-                            result.getInt("Id"),
-                            result.getString("Name"),
-                            result.getString("Icon"),
-                            result.getDouble("Price"),
-                            result.getBoolean("RequirePermission"),
-                            result.getString("Permission"),
-                            result.getLong("Cooldown"),
-                            result.getBoolean("IsOneTime"),
-                            result.getBoolean("Enable"),
-                            result.getBytes("Items")
-                    ));
+                    data.add(readKit(result));
                 }
             }
         }
         catch (Exception ex)
         {
             _logger.error(String.format("Unknown error happened while getting kits data...\n%s", ex.getMessage()));
-            return null;
+            return;
         }
 
-        for (var kit : data) {;
-            _kitCache.put(kit.Id, kit);
-        }
-        return data;
+        _kitRegistry.load(data);
+        _logger.debug(String.format("Loaded %s kits.", data.size()));
+    }
+
+    /**
+     * Creates a kit from the current row of a result set.
+     *
+     * @param result The result set positioned on a kit row.
+     * @return The kit.
+     * @throws SQLException If the row could not be read.
+     */
+    private Kit readKit(ResultSet result) throws SQLException {
+        return new Kit(
+                result.getInt("Id"),
+                result.getString("Name"),
+                result.getString("Icon"),
+                result.getDouble("Price"),
+                result.getBoolean("RequirePermission"),
+                result.getString("Permission"),
+                result.getLong("Cooldown"),
+                result.getBoolean("IsOneTime"),
+                result.getBoolean("Enable"),
+                result.getBytes("Items")
+        );
+    }
+
+    /**
+     * Does nothing, the database file is only written by this server, so the kit registry is always up to date.
+     *
+     * @return Always 0.
+     */
+    @Override
+    public int refreshKits() {
+        return 0;
     }
 
     /**
-     * Finds a kit in the database by its ID.
+     * Finds a kit in the kit registry by its ID.
+     * The registry holds every kit, so a miss means the kit does not exist and no query is made.
      *
      * @param id The ID of the kit to find.
      * @return The kit with the specified ID, or null if not found.
      */
     @Override
     public Kit findKit(long id) {
-        if (_kitCache.asMap().containsKey(id)) {
-            return _kitCache.getIfPresent(id);
-        }
-
-        Kit data = null;
-        try (Connection connection = CreateConnection())
-        {
-            String sql = String.format("SELECT * FROM %s_kits WHERE Id=?;",
-                    getConfig().getString("storage.tablePrefix"));
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                statement.setLong(1, id);
-                try (ResultSet result = statement.executeQuery()) {
-                    if (result.next()) {
-                        data = new Kit(
-                                result.getInt("Id"),
-                                result.getString("Name"),
-                                result.getString("Icon"),
-                                result.getDouble("Price"),
-                                result.getBoolean("RequirePermission"),
-                                result.getString("Permission"),
-                                result.getLong("Cooldown"),
-                                result.getBoolean("IsOneTime"),
-                                result.getBoolean("Enable"),
-                                result.getBytes("Items")
-                        );
-                    }
-                }
-            }
-        }
-        catch (Exception ex)
-        {
-            _logger.error(String.format("Unknown error happened while finding kit data...\n%s", ex.getMessage()));
-            return null;
-        }
-
-        if (data != null)
-            _kitCache.put(data.Id, data);
-        return data;
+        return _kitRegistry.find(id);
     }
 
     /**
-     * Finds a kit in the database by its name.
+     * Finds a kit in the kit registry by its name.
      *
      * @param name The name of the kit to find.
      * @return The kit with the specified name, or null if not found.
      */
     @Override
     public Kit findKit(String name) {
-        Kit data = null;
-        try (Connection connection = CreateConnection())
-        {
-            String sql = String.format("SELECT * FROM %s_kits WHERE LOWER(Name) LIKE LOWER(?);",
-                    getConfig().getString("storage.tablePrefix"));
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                statement.setString(1, "%" + name + "%");
-                try (ResultSet result = statement.executeQuery()) {
-                    if (result.next()) {
-                        data = new Kit(
-                                result.getInt("Id"),
-                                result.getString("Name"),
-                                result.getString("Icon"),
-                                result.getDouble("Price"),
-                                result.getBoolean("RequirePermission"),
-                                result.getString("Permission"),
-                                result.getLong("Cooldown"),
-                                result.getBoolean("IsOneTime"),
-                                result.getBoolean("Enable"),
-                                result.getBytes("Items")
-                        );
-                    }
-                }
-            }
-        }
-        catch (Exception ex)
-        {
-            _logger.error(String.format("Unknown error happened while finding kit data...\n%s", ex.getMessage()));
-            return null;
-        }
-
-        if (data != null)
-            _kitCache.put(data.Id, data);
-        return data;
+        return _kitRegistry.find(name);
     }
     //#endregion
 
@@ -590,33 +851,17 @@ public class SqlLiteManager implements IDatabase {
      */
     @Override
     public void addKitCooldown(UUID playerId, long kitId, LocalDateTime end) {
-        try (Connection connection = CreateConnection())
-        {
-            String sql = String.format("INSERT INTO %s_cooldowns (PlayerId, KitId, End) " +
-                            "VALUES (?, ?, ?);",
-                    getConfig().getString("storage.tablePrefix"));
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                statement.setString(1, playerId.toString());
-                statement.setLong(2, kitId);
-                statement.setString(3, end.toString());
-                statement.executeUpdate();
-            }
-
-            var cooldowns = _cooldownCache.getIfPresent(playerId);
-            if (cooldowns != null) {
-                cooldowns.add(new KitCooldown(playerId, kitId, end));
-                _cooldownCache.put(playerId, cooldowns);
-            }
-            else {
-                List<KitCooldown> newCooldowns = new ArrayList<>();
-                newCooldowns.add(new KitCooldown(playerId, kitId, end));
-                _cooldownCache.put(playerId, newCooldowns);
-            }
+        try
+        {
+            writeCooldowns(List.of(new KitCooldown(playerId, kitId, end)));
         }
         catch (Exception ex)
         {
             _logger.error(String.format("Unknown error happened while adding cooldown...\n%s", ex.getMessage()));
+            return;
         }
+
+        _cooldownStore.set(playerId, kitId, KitCooldown.toEpochMilli(end));
     }
 
     /**
@@ -628,39 +873,140 @@ public class SqlLiteManager implements IDatabase {
      */
     @Override
     public void updateKitCooldown(UUID playerId, long kitId, LocalDateTime end) {
-        try (Connection connection = CreateConnection())
-        {
-            String sql = String.format("UPDATE %s_cooldowns SET End=? WHERE PlayerId=? AND KitId=?;",
-                    getConfig().getString("storage.tablePrefix"));
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                statement.setString(1, end.toString());
-                statement.setString(2, playerId.toString());
-                statement.setLong(3, kitId);
-                statement.executeUpdate();
-            }
+        try
+        {
+            writeCooldowns(List.of(new KitCooldown(playerId, kitId, end)));
+        }
+        catch (Exception ex)
+        {
+            _logger.error(String.format("Unknown error happened while updating the cooldowns table...\n%s", ex.getMessage()));
+            return;
+        }
 
-            var cooldowns = _cooldownCache.getIfPresent(playerId);
-            if (cooldowns != null) {
-                for (var cooldown : cooldowns) {
-                    if (cooldown.KitId == kitId) {
-                        cooldown.End = end;
-                        break;
+        _cooldownStore.set(playerId, kitId, KitCooldown.toEpochMilli(end));
+    }
+
+    /**
+     * Claims a kit for a player with a single conditional upsert on the writer thread.
+     * The cooldowns in memory reject most refused claims without a query.
+     *
+     * @param playerId The UUID of the player.
+     * @param kitId The ID of the kit.
+     * @param now The current time in epoch milliseconds.
+     * @return The result of the claim.
+     */
+    @Override
+    public RedeemResult redeem(UUID playerId, long kitId, long now) {
+        Kit kit = findKit(kitId);
+        if (kit == null)
+            return RedeemResult.notFound(kitId);
+
+        long previous = getCooldownExpiry(playerId, kitId);
+        RedeemResult refused = RedeemResult.check(kit, previous, now);
+        if (refused != null)
+            return refused;
+
+        long expiresAt = now + kit.Cooldown * 1000L;
+        try
+        {
+            byte[] id = UuidUtils.toBytes(playerId);
+            // Null if the kit was claimed, otherwise the expiry that kept it
+            Long current = _writer.execute(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(_sql.ClaimCooldown)) {
+                    statement.setBytes(1, id);
+                    statement.setLong(2, kitId);
+                    statement.setLong(3, expiresAt);
+                    statement.setLong(4, now);
+                    statement.setBoolean(5, kit.IsOneTime);
+                    if (statement.executeUpdate() > 0)
+                        return null;
+                }
+
+                try (PreparedStatement statement = connection.prepareStatement(_sql.SelectCooldown)) {
+                    statement.setBytes(1, id);
+                    statement.setLong(2, kitId);
+                    try (ResultSet result = statement.executeQuery()) {
+                        return result.next() ? result.getLong("ExpiresAt") : NO_COOLDOWN;
                     }
                 }
-                _cooldownCache.put(playerId, cooldowns);
-            }
-            else {
-                List<KitCooldown> newCooldowns = new ArrayList<>();
-                newCooldowns.add(new KitCooldown(playerId, kitId, end));
-                _cooldownCache.put(playerId, newCooldowns);
+            });
+
+            if (current == null) {
+                _cooldownStore.set(playerId, kitId, expiresAt);
+                return new RedeemResult(RedeemResult.Outcome.SUCCESS, kitId, expiresAt, previous);
             }
+
+            if (current != NO_COOLDOWN)
+                _cooldownStore.set(playerId, kitId, current);
+            refused = RedeemResult.check(kit, current, now);
+            return refused != null ? refused : RedeemResult.failed(kitId);
         }
         catch (Exception ex)
         {
-            _logger.error(String.format("Unknown error happened while updating the cooldowns table...\n%s", ex.getMessage()));
+            _logger.error(String.format("Unknown error happened while redeeming a kit...\n%s", ex.getMessage()));
+            return RedeemResult.failed(kitId);
+        }
+    }
+
+    /**
+     * Reverts a successful claim if the cooldown was not changed since.
+     *
+     * @param playerId The UUID of the player.
+     * @param result The successful result of the claim.
+     */
+    @Override
+    public void revertRedeem(UUID playerId, RedeemResult result) {
+        if (!result.isSuccess())
+            return;
+
+        try
+        {
+            boolean restore = result.PreviousExpiresAt != NO_COOLDOWN;
+            int changed = _writer.execute(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(restore ? _sql.RestoreCooldown : _sql.DeleteCooldownIfUnchanged)) {
+                    int index = 1;
+                    if (restore)
+                        statement.setLong(index++, result.PreviousExpiresAt);
+                    statement.setBytes(index++, UuidUtils.toBytes(playerId));
+                    statement.setLong(index++, result.KitId);
+                    statement.setLong(index, result.ExpiresAt);
+                    return statement.executeUpdate();
+                }
+            });
+            if (changed == 0)
+                return;
+
+            if (restore)
+                _cooldownStore.set(playerId, result.KitId, result.PreviousExpiresAt);
+            else
+                _cooldownStore.remove(playerId, result.KitId);
+        }
+        catch (Exception ex)
+        {
+            _logger.error(String.format("Unknown error happened while reverting a redeem...\n%s", ex.getMessage()));
         }
     }
 
+    /**
+     * Writes a batch of cooldowns to the database in a single transaction.
+     *
+     * @param cooldowns The cooldowns to write.
+     * @throws SQLException If the batch could not be written.
+     */
+    private void writeCooldowns(List<KitCooldown> cooldowns) throws SQLException {
+        _writer.execute(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(_sql.UpsertCooldown)) {
+                for (var cooldown : cooldowns) {
+                    statement.setBytes(1, UuidUtils.toBytes(cooldown.PlayerId));
+                    statement.setLong(2, cooldown.KitId);
+                    statement.setLong(3, KitCooldown.toEpochMilli(cooldown.End));
+                    statement.addBatch();
+                }
+                return statement.executeBatch();
+            }
+        });
+    }
+
     /**
      * Removes a specific cooldown for a kit and player from the database.
      *
@@ -669,21 +1015,17 @@ public class SqlLiteManager implements IDatabase {
      */
     @Override
     public void removeKitCooldown(UUID playerId, long kitId) {
-        try (Connection connection = CreateConnection())
+        try
         {
-            String sql = String.format("DELETE FROM %s_cooldowns WHERE PlayerId=? AND KitId=?;",
-                    getConfig().getString("storage.tablePrefix"));
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                statement.setString(1, playerId.toString());
-                statement.setLong(2, kitId);
-                statement.executeUpdate();
-            }
+            _writer.execute(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(_sql.DeleteCooldown)) {
+                    statement.setBytes(1, UuidUtils.toBytes(playerId));
+                    statement.setLong(2, kitId);
+                    return statement.executeUpdate();
+                }
+            });
 
-            var cooldowns = _cooldownCache.getIfPresent(playerId);
-            if (cooldowns != null) {
-                cooldowns.removeIf(cooldown -> cooldown.KitId == kitId);
-                _cooldownCache.put(playerId, cooldowns);
-            }
+            _cooldownStore.remove(playerId, kitId);
         }
         catch (Exception ex)
         {
@@ -698,16 +1040,16 @@ public class SqlLiteManager implements IDatabase {
      */
     @Override
     public void removeKitCooldowns(UUID playerId) {
-        try (Connection connection = CreateConnection())
+        try
         {
-            String sql = String.format("DELETE FROM %s_cooldowns WHERE PlayerId=?;",
-                    getConfig().getString("storage.tablePrefix"));
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                statement.setString(1, playerId.toString());
-                statement.executeUpdate();
-            }
+            _writer.execute(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(_sql.DeletePlayerCooldowns)) {
+                    statement.setBytes(1, UuidUtils.toBytes(playerId));
+                    return statement.executeUpdate();
+                }
+            });
 
-            _cooldownCache.invalidate(playerId);
+            _cooldownStore.clear(playerId);
         }
         catch (Exception ex)
         {
@@ -722,21 +1064,16 @@ public class SqlLiteManager implements IDatabase {
      */
     @Override
     public void removeKitCooldowns(long kitId) {
-        try (Connection connection = CreateConnection())
+        try
         {
-            String sql = String.format("DELETE FROM %s_cooldowns WHERE KitId=?;",
-                    getConfig().getString("storage.tablePrefix"));
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                statement.setLong(1, kitId);
-                statement.executeUpdate();
-            }
+            _writer.execute(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(_sql.DeleteKitCooldowns)) {
+                    statement.setLong(1, kitId);
+                    return statement.executeUpdate();
+                }
+            });
 
-            var cooldownMap = _cooldownCache.asMap();
-            for (var entry : cooldownMap.entrySet()) {
-                var cooldowns = entry.getValue();
-                cooldowns.removeIf(cooldown -> cooldown.KitId == kitId);
-                _cooldownCache.put(entry.getKey(), cooldowns);
-            }
+            _cooldownStore.removeKit(kitId);
         }
         catch (Exception ex)
         {
@@ -752,24 +1089,22 @@ public class SqlLiteManager implements IDatabase {
      */
     @Override
     public List<KitCooldown> getKitCooldowns(UUID playerId) {
-        var cachedCooldowns = _cooldownCache.getIfPresent(playerId);
-        if (cachedCooldowns != null) {
-            return cachedCooldowns;
+        var loadedCooldowns = _cooldownStore.toList(playerId);
+        if (loadedCooldowns != null) {
+            return loadedCooldowns;
         }
 
         List<KitCooldown> data = new ArrayList<>();
-        try (Connection connection = CreateConnection())
+        try (Connection connection = _readers.getConnection())
         {
-            String sql = String.format("SELECT * FROM %s_cooldowns WHERE PlayerId=?;",
-                    getConfig().getString("storage.tablePrefix"));
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                statement.setString(1, playerId.toString());
+            try (PreparedStatement statement = connection.prepareStatement(_sql.SelectPlayerCooldowns)) {
+                statement.setBytes(1, UuidUtils.toBytes(playerId));
                 try (ResultSet result = statement.executeQuery()) {
                     while (result.next()) {
                         data.add(new KitCooldown(
-                                UUID.fromString(result.getString("PlayerId")),
+                                playerId,
                                 result.getLong("KitId"),
-                                LocalDateTime.parse(result.getString("End"))
+                                KitCooldown.fromEpochMilli(result.getLong("ExpiresAt"))
                         ));
                     }
                 }
@@ -781,12 +1116,14 @@ public class SqlLiteManager implements IDatabase {
             return null;
         }
 
-        _cooldownCache.put(playerId, data);
-        return data;
+        _cooldownStore.load(playerId, data);
+        // Another load or a redeem may have got in first, the merged cooldowns are the current ones
+        var mergedCooldowns = _cooldownStore.toList(playerId);
+        return mergedCooldowns != null ? mergedCooldowns : data;
     }
 
     /**
-     * Finds a specific cooldown for a kit and player in the database.
+     * Finds a specific cooldown for a kit and player.
      *
      * @param playerId The UUID of the player.
      * @param kitId The ID of the kit.
@@ -794,48 +1131,187 @@ public class SqlLiteManager implements IDatabase {
      */
     @Override
     public KitCooldown findKitCooldown(UUID playerId, long kitId) {
-        var cachedCooldowns = _cooldownCache.getIfPresent(playerId);
-        if (cachedCooldowns != null) {
-            for (var cooldown : cachedCooldowns) {
-                if (cooldown.KitId == kitId) {
-                    return cooldown;
+        long expiresAt = getCooldownExpiry(playerId, kitId);
+        if (expiresAt == NO_COOLDOWN)
+            return null;
+        return new KitCooldown(playerId, kitId, KitCooldown.fromEpochMilli(expiresAt));
+    }
+
+    /**
+     * Gets when the cooldown of a player for a kit expires.
+     * Loads the cooldowns of the player from the database if they are not in memory yet.
+     *
+     * @param playerId The UUID of the player.
+     * @param kitId The ID of the kit.
+     * @return The expiry in epoch milliseconds, or NO_COOLDOWN if there is none.
+     */
+    @Override
+    public long getCooldownExpiry(UUID playerId, long kitId) {
+        if (!_cooldownStore.isLoaded(playerId))
+            getKitCooldowns(playerId);
+        return _cooldownStore.getExpiry(playerId, kitId);
+    }
+
+    /**
+     * Gets when the cooldown of a player for a kit expires, without reading the database.
+     *
+     * @param playerId The UUID of the player.
+     * @param kitId The ID of the kit.
+     * @return The expiry in epoch milliseconds, or NO_COOLDOWN if there is none or the player is not loaded.
+     */
+    @Override
+    public long peekCooldownExpiry(UUID playerId, long kitId) {
+        return _cooldownStore.getExpiry(playerId, kitId);
+    }
+
+    /**
+     * Loads the cooldowns of a player from the database if they are not in memory yet.
+     *
+     * @param playerId The UUID of the player.
+     */
+    @Override
+    public void loadKitCooldowns(UUID playerId) {
+        if (!_cooldownStore.isLoaded(playerId))
+            getKitCooldowns(playerId);
+    }
+
+    /**
+     * Releases the cooldowns of a player from memory.
+     *
+     * @param playerId The UUID of the player.
+     */
+    @Override
+    public void unloadKitCooldowns(UUID playerId) {
+        _cooldownStore.unload(playerId);
+    }
+
+    /**
+     * Deletes expired cooldowns from the database, keeping the ones of one-time kits.
+     *
+     * @param now The current time in epoch milliseconds.
+     * @param limit The maximum number of rows to delete.
+     * @return The number of deleted rows.
+     */
+    @Override
+    public int purgeExpiredCooldowns(long now, int limit) {
+        try
+        {
+            return _writer.execute(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(_sql.PurgeExpiredCooldowns)) {
+                    statement.setLong(1, now);
+                    statement.setInt(2, limit);
+                    return statement.executeUpdate();
                 }
-            }
+            });
+        }
+        catch (Exception ex)
+        {
+            _logger.error(String.format("Unknown error happened while purging expired cooldowns...\n%s", ex.getMessage()));
+            return 0;
         }
+    }
+
+    /**
+     * Takes a snapshot of the connection pool and write statistics.
+     *
+     * @return The current statistics.
+     */
+    @Override
+    public StorageStatistics getStatistics() {
+        return StorageStatistics.of("SQLite", _readers, _poolMetrics, _writer == null ? 0 : _writer.getQueuedCount());
+    }
+    //#endregion
+
+    //#region Claims
+    /**
+     * Stores items in the claim box of a player, one row per stack.
+     *
+     * @param playerId The UUID of the player.
+     * @param items The items to store.
+     * @return True if the items were stored.
+     */
+    @Override
+    public boolean addClaimItems(UUID playerId, List<ItemStack> items) {
+        if (items.isEmpty())
+            return true;
 
-        KitCooldown data = null;
-        try (Connection connection = CreateConnection())
+        long now = System.currentTimeMillis();
+        try
         {
-            String sql = String.format("SELECT * FROM %s_cooldowns WHERE PlayerId=? AND KitId=?;",
-                    getConfig().getString("storage.tablePrefix"));
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                statement.setString(1, playerId.toString());
-                statement.setLong(2, kitId);
-                try (ResultSet result = statement.executeQuery()) {
-                    if (result.next()) {
-                        data = new KitCooldown(
-                                UUID.fromString(result.getString("PlayerId")),
-                                result.getLong("KitId"),
-                                LocalDateTime.parse(result.getString("End"))
-                        );
+            byte[] id = UuidUtils.toBytes(playerId);
+            List<byte[]> serializedItems = new ArrayList<>(items.size());
+            for (var item : items)
+                serializedItems.add(OpenKits.ItemMetaSerializer.serializeItemStackListToBytes(List.of(item)));
+
+            _writer.execute(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(_sql.InsertClaim)) {
+                    for (var serializedItem : serializedItems) {
+                        statement.setBytes(1, id);
+                        statement.setBytes(2, serializedItem);
+                        statement.setLong(3, now);
+                        statement.addBatch();
                     }
+                    statement.executeBatch();
                 }
+                return null;
+            });
+            return true;
+        }
+        catch (Exception ex)
+        {
+            _logger.error(String.format("Unknown error happened while storing %s claim items...\n%s", items.size(), ex.getMessage()));
+            return false;
+        }
+    }
+
+    /**
+     * Retrieves the items in the claim box of a player, oldest first.
+     *
+     * @param playerId The UUID of the player.
+     * @return The stored items, or null if they could not be read.
+     */
+    @Override
+    public List<ClaimItem> getClaimItems(UUID playerId) {
+        try (Connection connection = _readers.getConnection();
+             PreparedStatement statement = connection.prepareStatement(_sql.SelectClaims))
+        {
+            statement.setBytes(1, UuidUtils.toBytes(playerId));
+            try (ResultSet result = statement.executeQuery()) {
+                return ClaimItem.readAll(result);
             }
         }
         catch (Exception ex)
         {
-            _logger.error(String.format("Unknown error happened while finding cooldown data...\n%s", ex.getMessage()));
+            _logger.error(String.format("Unknown error happened while getting claim items...\n%s", ex.getMessage()));
             return null;
         }
+    }
 
-        if (data != null) {
-            if (cachedCooldowns == null)
-                cachedCooldowns = new ArrayList<>(); // Make sure the list is initialized
-            cachedCooldowns.add(data);
-            _cooldownCache.put(playerId, cachedCooldowns);
+    /**
+     * Removes an item from the claim box of a player.
+     *
+     * @param playerId The UUID of the player.
+     * @param id The unique identifier of the stored item.
+     * @return True if the item was removed by this call.
+     */
+    @Override
+    public boolean removeClaimItem(UUID playerId, long id) {
+        try
+        {
+            int removed = _writer.execute(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(_sql.DeleteClaim)) {
+                    statement.setLong(1, id);
+                    statement.setBytes(2, UuidUtils.toBytes(playerId));
+                    return statement.executeUpdate();
+                }
+            });
+            return removed == 1;
+        }
+        catch (Exception ex)
+        {
+            _logger.error(String.format("Unknown error happened while removing a claim item...\n%s", ex.getMessage()));
+            return false;
         }
-
-        return data;
     }
     //#endregion
 }
@@ -0,0 +1,282 @@
+package io.github.tavstaldev.openkits.managers;
+
+import io.github.tavstaldev.minecorelib.core.PluginLogger;
+import io.github.tavstaldev.openkits.OpenKits;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs every write of the SQLite database on a single thread with a single connection.
+ * SQLite only allows one writer at a time, so funnelling the writes through one thread avoids busy waits,
+ * and the writes that queue up while a transaction runs are committed together in the next one.
+ */
+public class SqlLiteWriter {
+    private static final PluginLogger _logger = OpenKits.logger().withModule(SqlLiteWriter.class);
+    private static final int MAX_BATCH_SIZE = 256;
+    private final BlockingQueue<Job<?>> _queue = new LinkedBlockingQueue<>();
+    private final String _url;
+    private final Properties _properties;
+    private final Thread _thread;
+    private volatile boolean _running = true;
+    private Connection _connection;
+
+    /**
+     * A write executed on the writer connection.
+     * Tasks run inside a transaction managed by the writer, so they must not commit or roll back themselves.
+     *
+     * @param <T> the type of the result
+     */
+    @FunctionalInterface
+    public interface Task<T> {
+        /**
+         * Executes the write.
+         *
+         * @param connection the writer connection
+         * @return the result of the write
+         * @throws SQLException if the write fails
+         */
+        T run(Connection connection) throws SQLException;
+    }
+
+    private record Job<T>(Task<T> task, CompletableFuture<T> future) {}
+
+    /**
+     * Creates a new writer and starts its thread. The connection is opened by the first write.
+     *
+     * @param url        the JDBC url of the database
+     * @param properties the connection properties, including the pragmas
+     */
+    public SqlLiteWriter(String url, Properties properties) {
+        _url = url;
+        _properties = properties;
+        _thread = new Thread(this::runLoop, "OpenKits-SQLiteWriter");
+        _thread.setDaemon(true);
+        _thread.start();
+    }
+
+    /**
+     * Queues a write.
+     *
+     * @param task the write to execute
+     * @param <T>  the type of the result
+     * @return a future completed with the result once the transaction of the write is committed
+     */
+    public <T> CompletableFuture<T> submit(Task<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        if (!_running) {
+            future.completeExceptionally(new SQLException("The SQLite writer is closed."));
+            return future;
+        }
+
+        _queue.add(new Job<>(task, future));
+        // The writer may have stopped between the check and the add
+        if (!_running && !_thread.isAlive())
+            failQueued();
+        return future;
+    }
+
+    /**
+     * Queues a write and waits until its transaction is committed.
+     *
+     * @param task the write to execute
+     * @param <T>  the type of the result
+     * @return the result of the write
+     * @throws SQLException if the write fails
+     */
+    public <T> T execute(Task<T> task) throws SQLException {
+        try {
+            return submit(task).get();
+        }
+        catch (ExecutionException ex) {
+            if (ex.getCause() instanceof SQLException sqlException)
+                throw sqlException;
+            throw new SQLException(ex.getCause());
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for the SQLite writer.", ex);
+        }
+    }
+
+    /**
+     * Gets the number of writes waiting for the writer thread.
+     *
+     * @return the number of queued writes
+     */
+    public int getQueuedCount() {
+        return _queue.size();
+    }
+
+    /**
+     * Executes the queued writes, then stops the writer thread and closes the connection.
+     */
+    public void close() {
+        _running = false;
+        try {
+            _thread.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (_thread.isAlive()) {
+            _logger.warn("The SQLite writer did not finish in time, forcing shutdown.");
+            _thread.interrupt();
+        }
+    }
+
+    /**
+     * The loop of the writer thread. Takes every queued write and executes them in one transaction.
+     */
+    private void runLoop() {
+        List<Job<?>> batch = new ArrayList<>();
+        try {
+            while (_running || !_queue.isEmpty()) {
+                Job<?> job = _queue.poll(100, TimeUnit.MILLISECONDS);
+                if (job == null)
+                    continue;
+
+                batch.add(job);
+                _queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+                executeBatch(batch);
+                batch.clear();
+            }
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        finally {
+            failQueued();
+            closeConnection();
+        }
+    }
+
+    /**
+     * Executes a batch of writes in one transaction.
+     * When the transaction fails, every write is retried in a transaction of its own,
+     * so a single failing write does not fail the others.
+     *
+     * @param batch the writes to execute
+     */
+    private void executeBatch(List<Job<?>> batch) {
+        Connection connection;
+        try {
+            connection = getConnection();
+        }
+        catch (SQLException ex) {
+            _logger.error(String.format("Unknown error happened while creating db connection...\n%s", ex.getMessage()));
+            for (Job<?> job : batch)
+                job.future().completeExceptionally(ex);
+            return;
+        }
+
+        if (batch.size() > 1) {
+            List<Object> results = new ArrayList<>(batch.size());
+            try {
+                for (Job<?> job : batch)
+                    results.add(job.task().run(connection));
+                connection.commit();
+            }
+            catch (Exception ex) {
+                rollback(connection);
+                results = null;
+            }
+
+            if (results != null) {
+                for (int i = 0; i < batch.size(); i++)
+                    complete(batch.get(i), results.get(i));
+                return;
+            }
+        }
+
+        for (Job<?> job : batch) {
+            try {
+                // A failed rollback closes the connection, so it is fetched again for every write
+                connection = getConnection();
+                Object result = job.task().run(connection);
+                connection.commit();
+                complete(job, result);
+            }
+            catch (Exception ex) {
+                rollback(connection);
+                job.future().completeExceptionally(ex);
+            }
+        }
+    }
+
+    /**
+     * Completes the future of a write with its result.
+     *
+     * @param job    the write
+     * @param result the result of the write
+     * @param <T>    the type of the result
+     */
+    @SuppressWarnings("unchecked")
+    private <T> void complete(Job<T> job, Object result) {
+        job.future().complete((T) result);
+    }
+
+    /**
+     * Rolls back the current transaction, closing the connection if even that fails.
+     *
+     * @param connection the writer connection
+     */
+    private void rollback(Connection connection) {
+        try {
+            connection.rollback();
+        }
+        catch (SQLException ex) {
+            _logger.error(String.format("Unknown error happened while rolling back a transaction...\n%s", ex.getMessage()));
+            closeConnection();
+        }
+    }
+
+    /**
+     * Gets the writer connection, opening it if it is not open yet.
+     *
+     * @return the writer connection
+     * @throws SQLException if the connection could not be opened
+     */
+    private Connection getConnection() throws SQLException {
+        if (_connection == null || _connection.isClosed()) {
+            _connection = DriverManager.getConnection(_url, _properties);
+            _connection.setAutoCommit(false);
+        }
+        return _connection;
+    }
+
+    /**
+     * Closes the writer connection.
+     */
+    private void closeConnection() {
+        if (_connection == null)
+            return;
+
+        try {
+            _connection.close();
+        }
+        catch (SQLException ex) {
+            _logger.error(String.format("Unknown error happened while closing db connection...\n%s", ex.getMessage()));
+        }
+        _connection = null;
+    }
+
+    /**
+     * Fails the writes that were queued after the writer stopped.
+     */
+    private void failQueued() {
+        Job<?> job;
+        while ((job = _queue.poll()) != null)
+            job.future().completeExceptionally(new SQLException("The SQLite writer is closed."));
+    }
+}
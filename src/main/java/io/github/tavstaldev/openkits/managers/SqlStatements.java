@@ -0,0 +1,149 @@
+package io.github.tavstaldev.openkits.managers;
+
+/**
+ * Holds the SQL text of every query the database managers run more than once.
+ * The table prefix is resolved when the registry is created, so the queries are not formatted again on every call
+ * and the drivers can reuse their cached statements for the identical text.
+ */
+public class SqlStatements {
+    /**
+     * The SQL dialects supported by the plugin.
+     */
+    public enum Dialect {
+        MYSQL,
+        SQLITE
+    }
+
+    // Tables
+    public final String KitsTable;
+    public final String CooldownsTable;
+    public final String MetaTable;
+    public final String ChangesTable;
+    public final String ClaimsTable;
+
+    // Kits
+    public final String InsertKit;
+    public final String UpdateKitName;
+    public final String UpdateKitPermission;
+    public final String UpdateKitItems;
+    public final String UpdateKitPrice;
+    public final String UpdateKitCooldown;
+    public final String UpdateKitEnabled;
+    public final String UpdateKitIcon;
+    public final String UpdateKitOneTime;
+    public final String DeleteKit;
+    public final String SelectKits;
+    public final String SelectKitById;
+    public final String SelectKitIds;
+    public final String SelectKitsChangedSince;
+    public final String UpdateKitRevision;
+
+    // Cooldowns
+    public final String UpsertCooldown;
+    public final String DeleteCooldown;
+    public final String DeletePlayerCooldowns;
+    public final String DeleteKitCooldowns;
+    public final String SelectPlayerCooldowns;
+    public final String SelectCooldown;
+    public final String ClaimCooldown;
+    public final String RestoreCooldown;
+    public final String DeleteCooldownIfUnchanged;
+    public final String PurgeExpiredCooldowns;
+
+    // Claims
+    public final String InsertClaim;
+    public final String SelectClaims;
+    public final String DeleteClaim;
+
+    // Meta
+    public final String SelectMeta;
+    public final String UpsertMeta;
+    public final String InsertMetaIfAbsent;
+    public final String IncrementCatalogueRevision;
+
+    // Changes
+    public final String InsertChange;
+    public final String SelectChanges;
+    public final String SelectLastChangeId;
+    public final String PurgeChanges;
+
+    /**
+     * Builds the queries for the given table prefix and dialect.
+     *
+     * @param tablePrefix the prefix of the table names
+     * @param dialect     the SQL dialect of the database
+     */
+    public SqlStatements(String tablePrefix, Dialect dialect) {
+        KitsTable = tablePrefix + "_kits";
+        CooldownsTable = tablePrefix + "_cooldowns";
+        MetaTable = tablePrefix + "_meta";
+        ChangesTable = tablePrefix + "_changes";
+        ClaimsTable = tablePrefix + "_claims";
+
+        InsertKit = String.format("INSERT INTO %s (Name, NameLower, Icon, Price, RequirePermission, Permission, Cooldown, IsOneTime, Enable, Items) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?);", KitsTable);
+        UpdateKitName = String.format("UPDATE %s SET Name=?, NameLower=? WHERE Id=?;", KitsTable);
+        UpdateKitPermission = String.format("UPDATE %s SET RequirePermission=?, Permission=? WHERE Id=?;", KitsTable);
+        UpdateKitItems = String.format("UPDATE %s SET Items=? WHERE Id=?;", KitsTable);
+        UpdateKitPrice = String.format("UPDATE %s SET Price=? WHERE Id=?;", KitsTable);
+        UpdateKitCooldown = String.format("UPDATE %s SET Cooldown=? WHERE Id=?;", KitsTable);
+        UpdateKitEnabled = String.format("UPDATE %s SET Enable=? WHERE Id=?;", KitsTable);
+        UpdateKitIcon = String.format("UPDATE %s SET Icon=? WHERE Id=?;", KitsTable);
+        UpdateKitOneTime = String.format("UPDATE %s SET IsOneTime=? WHERE Id=?;", KitsTable);
+        DeleteKit = String.format("DELETE FROM %s WHERE Id=?;", KitsTable);
+        SelectKits = String.format("SELECT * FROM %s;", KitsTable);
+        SelectKitById = String.format("SELECT * FROM %s WHERE Id=? LIMIT 1;", KitsTable);
+        SelectKitIds = String.format("SELECT Id FROM %s;", KitsTable);
+        SelectKitsChangedSince = String.format("SELECT * FROM %s WHERE Revision>?;", KitsTable);
+        UpdateKitRevision = String.format("UPDATE %s SET Revision=? WHERE Id=?;", KitsTable);
+
+        DeleteCooldown = String.format("DELETE FROM %s WHERE PlayerId=? AND KitId=?;", CooldownsTable);
+        DeletePlayerCooldowns = String.format("DELETE FROM %s WHERE PlayerId=?;", CooldownsTable);
+        DeleteKitCooldowns = String.format("DELETE FROM %s WHERE KitId=?;", CooldownsTable);
+        SelectPlayerCooldowns = String.format("SELECT KitId, ExpiresAt FROM %s WHERE PlayerId=?;", CooldownsTable);
+        SelectCooldown = String.format("SELECT ExpiresAt FROM %s WHERE PlayerId=? AND KitId=?;", CooldownsTable);
+        RestoreCooldown = String.format("UPDATE %s SET ExpiresAt=? WHERE PlayerId=? AND KitId=? AND ExpiresAt=?;", CooldownsTable);
+        DeleteCooldownIfUnchanged = String.format("DELETE FROM %s WHERE PlayerId=? AND KitId=? AND ExpiresAt=?;", CooldownsTable);
+
+        InsertClaim = String.format("INSERT INTO %s (PlayerId, Item, CreatedAt) VALUES (?, ?, ?);", ClaimsTable);
+        SelectClaims = String.format("SELECT Id, Item FROM %s WHERE PlayerId=? ORDER BY Id;", ClaimsTable);
+        DeleteClaim = String.format("DELETE FROM %s WHERE Id=? AND PlayerId=?;", ClaimsTable);
+
+        SelectMeta = String.format("SELECT Value FROM %s WHERE Name=?;", MetaTable);
+
+        InsertChange = String.format("INSERT INTO %s (ServerId, Type, KitId, PlayerId, ExpiresAt, CreatedAt) VALUES (?, ?, ?, ?, ?, ?);", ChangesTable);
+        SelectChanges = String.format("SELECT Id, ServerId, Type, KitId, PlayerId, ExpiresAt FROM %s WHERE Id>? ORDER BY Id LIMIT ?;", ChangesTable);
+        SelectLastChangeId = String.format("SELECT COALESCE(MAX(Id), 0) AS Id FROM %s;", ChangesTable);
+        PurgeChanges = String.format("DELETE FROM %s WHERE CreatedAt<?;", ChangesTable);
+
+        switch (dialect) {
+            case MYSQL -> {
+                UpsertCooldown = String.format("INSERT INTO %s (PlayerId, KitId, ExpiresAt) VALUES (?, ?, ?) " +
+                        "ON DUPLICATE KEY UPDATE ExpiresAt=VALUES(ExpiresAt);", CooldownsTable);
+                // Parameters after the values: now, is one-time. Reports 0 affected rows when the row is kept,
+                // which needs the useAffectedRows driver property
+                ClaimCooldown = String.format("INSERT INTO %s (PlayerId, KitId, ExpiresAt) VALUES (?, ?, ?) " +
+                        "ON DUPLICATE KEY UPDATE ExpiresAt=IF(ExpiresAt<=? AND NOT ?, VALUES(ExpiresAt), ExpiresAt);", CooldownsTable);
+                PurgeExpiredCooldowns = String.format("DELETE FROM %s WHERE ExpiresAt<? " +
+                        "AND KitId NOT IN (SELECT Id FROM %s WHERE IsOneTime) LIMIT ?;", CooldownsTable, KitsTable);
+                UpsertMeta = String.format("INSERT INTO %s (Name, Value) VALUES (?, ?) ON DUPLICATE KEY UPDATE Value=VALUES(Value);", MetaTable);
+                InsertMetaIfAbsent = String.format("INSERT IGNORE INTO %s (Name, Value) VALUES (?, ?);", MetaTable);
+                // LAST_INSERT_ID(expr) hands the new value back to the same connection without another read of the row
+                IncrementCatalogueRevision = String.format("UPDATE %s SET Value=LAST_INSERT_ID(Value+1) WHERE Name=?;", MetaTable);
+            }
+            default -> {
+                UpsertCooldown = String.format("INSERT INTO %s (PlayerId, KitId, ExpiresAt) VALUES (?, ?, ?) " +
+                        "ON CONFLICT (PlayerId, KitId) DO UPDATE SET ExpiresAt=excluded.ExpiresAt;", CooldownsTable);
+                // Parameters after the values: now, is one-time. Changes no row when the existing one is kept
+                ClaimCooldown = String.format("INSERT INTO %s (PlayerId, KitId, ExpiresAt) VALUES (?, ?, ?) " +
+                        "ON CONFLICT (PlayerId, KitId) DO UPDATE SET ExpiresAt=excluded.ExpiresAt WHERE ExpiresAt<=? AND NOT ?;", CooldownsTable);
+                // SQLite only supports DELETE ... LIMIT when compiled with a special flag
+                PurgeExpiredCooldowns = String.format("DELETE FROM %s WHERE rowid IN (SELECT rowid FROM %s WHERE ExpiresAt<? " +
+                        "AND KitId NOT IN (SELECT Id FROM %s WHERE IsOneTime) LIMIT ?);", CooldownsTable, CooldownsTable, KitsTable);
+                UpsertMeta = String.format("INSERT INTO %s (Name, Value) VALUES (?, ?) ON CONFLICT (Name) DO UPDATE SET Value=excluded.Value;", MetaTable);
+                InsertMetaIfAbsent = String.format("INSERT OR IGNORE INTO %s (Name, Value) VALUES (?, ?);", MetaTable);
+                IncrementCatalogueRevision = String.format("UPDATE %s SET Value=Value+1 WHERE Name=?;", MetaTable);
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package io.github.tavstaldev.openkits.managers;
+
+import io.github.tavstaldev.minecorelib.core.PluginLogger;
+import io.github.tavstaldev.openkits.OpenKits;
+import org.bukkit.Bukkit;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Manages the bounded executor used for storage operations.
+ * Keeps JDBC I/O off the main server thread and provides an executor
+ * for applying the results back on the main thread.
+ */
+public class StorageExecutor {
+    private static final PluginLogger _logger = OpenKits.logger().withModule(StorageExecutor.class);
+    private static ThreadPoolExecutor _executor;
+    private static final Executor _mainThreadExecutor = task -> {
+        if (Bukkit.isPrimaryThread()) {
+            task.run();
+            return;
+        }
+
+        // The scheduler refuses new tasks once the plugin is disabled.
+        if (!OpenKits.Instance.isEnabled())
+            return;
+        Bukkit.getScheduler().runTask(OpenKits.Instance, task);
+    };
+
+    /**
+     * Creates the storage executor using the thread count and queue size from the configuration.
+     */
+    public static void init() {
+        if (_executor != null && !_executor.isShutdown())
+            shutdown();
+
+        int threads = Math.max(1, OpenKits.config().getInt("storage.threads", 2));
+        int queueSize = Math.max(1, OpenKits.config().getInt("storage.queueSize", 1000));
+        AtomicInteger threadCounter = new AtomicInteger();
+        _executor = new ThreadPoolExecutor(threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "OpenKits-Storage-" + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                // When the queue is full, the task is refused and its future fails,
+                // running it on the caller would put the JDBC call back on the main thread.
+                new ThreadPoolExecutor.AbortPolicy());
+        _logger.debug(String.format("Storage executor started with %s threads.", threads));
+    }
+
+    /**
+     * Stops accepting new tasks and waits for the queued ones to finish.
+     */
+    public static void shutdown() {
+        if (_executor == null)
+            return;
+
+        _executor.shutdown();
+        try {
+            if (!_executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                _logger.warn("Storage tasks did not finish in time, forcing shutdown.");
+                _executor.shutdownNow();
+            }
+        }
+        catch (InterruptedException ex) {
+            _executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Gets the executor that runs tasks on the storage threads.
+     *
+     * @return the storage executor
+     */
+    public static Executor executor() {
+        return _executor;
+    }
+
+    /**
+     * Gets an executor that runs tasks on the main server thread.
+     * Tasks submitted from the main thread are run immediately.
+     *
+     * @return the main thread executor
+     */
+    public static Executor mainThread() {
+        return _mainThreadExecutor;
+    }
+
+    /**
+     * Runs the supplier on the storage executor.
+     *
+     * @param supplier the supplier to run
+     * @param <T>      the type of the result
+     * @return a future completed with the result of the supplier,
+     *         or failed with a RejectedExecutionException if the queue is full
+     */
+    public static <T> CompletableFuture<T> supply(Supplier<T> supplier) {
+        try {
+            return CompletableFuture.supplyAsync(supplier, _executor);
+        }
+        catch (RejectedExecutionException ex) {
+            return rejected(ex);
+        }
+    }
+
+    /**
+     * Runs the task on the storage executor.
+     *
+     * @param task the task to run
+     * @return a future completed when the task has finished,
+     *         or failed with a RejectedExecutionException if the queue is full
+     */
+    public static CompletableFuture<Void> run(Runnable task) {
+        try {
+            return CompletableFuture.runAsync(task, _executor);
+        }
+        catch (RejectedExecutionException ex) {
+            return rejected(ex);
+        }
+    }
+
+    /**
+     * Turns a refused task into a failed future.
+     *
+     * @param ex  the exception thrown by the executor
+     * @param <T> the type of the result
+     * @return the failed future
+     */
+    private static <T> CompletableFuture<T> rejected(RejectedExecutionException ex) {
+        _logger.warn(String.format("A storage task was refused, %s tasks are already queued.", _executor.getQueue().size()));
+        return CompletableFuture.failedFuture(ex);
+    }
+}
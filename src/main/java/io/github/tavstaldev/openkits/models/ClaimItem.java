@@ -0,0 +1,48 @@
+package io.github.tavstaldev.openkits.models;
+
+import io.github.tavstaldev.openkits.OpenKits;
+import org.bukkit.inventory.ItemStack;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents an item waiting in the claim box of a player, because it did not fit into the inventory.
+ */
+public class ClaimItem {
+    public long Id;
+    public ItemStack Item;
+
+    /**
+     * Constructs a new ClaimItem instance.
+     *
+     * @param id   the unique identifier of the stored item
+     * @param item the stored item
+     */
+    public ClaimItem(long id, ItemStack item) {
+        Id = id;
+        Item = item;
+    }
+
+    /**
+     * Reads the stored items from the rows of the claims table.
+     * Rows that cannot be deserialized anymore are skipped and stay in the table.
+     *
+     * @param result the rows to read
+     * @return the stored items
+     * @throws SQLException if the rows could not be read
+     */
+    public static List<ClaimItem> readAll(ResultSet result) throws SQLException {
+        List<ClaimItem> items = new ArrayList<>();
+        while (result.next()) {
+            List<ItemStack> stacks = OpenKits.ItemMetaSerializer.deserializeItemStackListFromBytes(result.getBytes("Item"));
+            if (stacks == null || stacks.isEmpty() || stacks.getFirst() == null)
+                continue;
+
+            items.add(new ClaimItem(result.getLong("Id"), stacks.getFirst()));
+        }
+        return items;
+    }
+}
@@ -1,19 +1,28 @@
 package io.github.tavstaldev.openkits.models;
 
+import io.github.tavstaldev.openkits.managers.StorageExecutor;
 import org.bukkit.Material;
 import org.bukkit.inventory.ItemStack;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Interface for database operations related to kits.
+ * Every operation also has an asynchronous variant that runs on the {@link StorageExecutor}.
  */
 public interface IDatabase {
+    /**
+     * Returned by {@link #getCooldownExpiry(UUID, long)} when the player has no cooldown for the kit.
+     */
+    long NO_COOLDOWN = Long.MIN_VALUE;
 
     /**
      * Called when the database is loaded.
+     * Implementations must check the schema and load every kit into memory here.
      */
     void load();
 
@@ -115,7 +124,8 @@ public interface IDatabase {
     void removeKit(long id);
 
     /**
-     * Retrieves all kits from the database.
+     * Retrieves all kits.
+     * The returned list is an immutable snapshot of the in-memory kit registry.
      *
      * @return A list of all kits.
      */
@@ -193,4 +203,389 @@ public interface IDatabase {
      * @return the kit cooldown for the specified player and kit, or null if not found
      */
     KitCooldown findKitCooldown(UUID playerId, long kitId);
+
+    /**
+     * Gets when the cooldown of a player for a kit expires.
+     * The cooldowns of the player are loaded into memory on the first call.
+     *
+     * @param playerId the unique identifier of the player
+     * @param kitId the unique identifier of the kit
+     * @return the expiry in epoch milliseconds, or {@link #NO_COOLDOWN} if there is none
+     */
+    long getCooldownExpiry(UUID playerId, long kitId);
+
+    /**
+     * Gets when the cooldown of a player for a kit expires, only from memory.
+     * Never reads the database, so it can be called on the main thread.
+     *
+     * @param playerId the unique identifier of the player
+     * @param kitId the unique identifier of the kit
+     * @return the expiry in epoch milliseconds, or {@link #NO_COOLDOWN} if there is none or the cooldowns of the player are not loaded
+     */
+    long peekCooldownExpiry(UUID playerId, long kitId);
+
+    /**
+     * Claims a kit for a player by checking and setting the cooldown in a single atomic step.
+     * The claim only succeeds if the kit is not on cooldown and, for one-time kits, was never claimed,
+     * even when several servers or requests claim the same kit at once.
+     *
+     * @param playerId the unique identifier of the player
+     * @param kitId the unique identifier of the kit
+     * @param now the current time in epoch milliseconds
+     * @return the result of the claim
+     */
+    RedeemResult redeem(UUID playerId, long kitId, long now);
+
+    /**
+     * Reverts a successful claim, for example when the kit could not be paid for.
+     * The previous cooldown is only restored if the cooldown was not changed since the claim.
+     *
+     * @param playerId the unique identifier of the player
+     * @param result the successful result of the claim
+     */
+    void revertRedeem(UUID playerId, RedeemResult result);
+
+    /**
+     * Stores items in the claim box of a player.
+     *
+     * @param playerId the unique identifier of the player
+     * @param items the items to store
+     * @return true if the items were stored, false if they were not and the caller still has to take care of them
+     */
+    boolean addClaimItems(UUID playerId, List<ItemStack> items);
+
+    /**
+     * Retrieves the items in the claim box of a player, oldest first.
+     *
+     * @param playerId the unique identifier of the player
+     * @return the stored items, or null if they could not be read
+     */
+    List<ClaimItem> getClaimItems(UUID playerId);
+
+    /**
+     * Removes an item from the claim box of a player.
+     * Only one caller can remove the same item, so it can be given to the player without duplicating it.
+     *
+     * @param playerId the unique identifier of the player
+     * @param id the unique identifier of the stored item
+     * @return true if the item was removed by this call
+     */
+    boolean removeClaimItem(UUID playerId, long id);
+
+    /**
+     * Loads the cooldowns of a player into memory if they are not loaded yet.
+     *
+     * @param playerId the unique identifier of the player
+     */
+    void loadKitCooldowns(UUID playerId);
+
+    /**
+     * Releases the cooldowns of a player from memory.
+     *
+     * @param playerId the unique identifier of the player
+     */
+    void unloadKitCooldowns(UUID playerId);
+
+    /**
+     * Deletes expired cooldowns from the database, keeping the ones of one-time kits.
+     *
+     * @param now   the current time in epoch milliseconds
+     * @param limit the maximum number of rows to delete
+     * @return the number of deleted rows
+     */
+    int purgeExpiredCooldowns(long now, int limit);
+
+    /**
+     * Takes a snapshot of the connection pool and write statistics of the storage.
+     *
+     * @return the current statistics
+     */
+    StorageStatistics getStatistics();
+
+    /**
+     * Reloads the kits that were changed by other servers since the last refresh.
+     * Cheap while nothing has changed, only the catalogue revision is read.
+     *
+     * @return the number of added, changed or removed kits
+     */
+    int refreshKits();
+
+    //#region Async
+    /**
+     * Asynchronously adds a new kit to the database.
+     *
+     * @see #addKit(String, Material, Double, boolean, String, long, boolean, boolean, List)
+     * @return a future completed when the kit has been added
+     */
+    default CompletableFuture<Void> addKitAsync(String name, Material icon, Double price, boolean requirePermission, String permission, long cooldown, boolean isOneTime, boolean enable, List<ItemStack> items) {
+        return StorageExecutor.run(() -> addKit(name, icon, price, requirePermission, permission, cooldown, isOneTime, enable, items));
+    }
+
+    /**
+     * Asynchronously updates the name of a kit.
+     *
+     * @see #updateKitName(long, String)
+     * @return a future completed when the kit has been updated
+     */
+    default CompletableFuture<Void> updateKitNameAsync(long id, String name) {
+        return StorageExecutor.run(() -> updateKitName(id, name));
+    }
+
+    /**
+     * Asynchronously updates the permission requirements of a kit.
+     *
+     * @see #updateKitPermission(long, boolean, String)
+     * @return a future completed when the kit has been updated
+     */
+    default CompletableFuture<Void> updateKitPermissionAsync(long id, boolean requirePermission, String permission) {
+        return StorageExecutor.run(() -> updateKitPermission(id, requirePermission, permission));
+    }
+
+    /**
+     * Asynchronously updates the items of a kit.
+     *
+     * @see #updateKitItems(long, List)
+     * @return a future completed when the kit has been updated
+     */
+    default CompletableFuture<Void> updateKitItemsAsync(long id, List<ItemStack> items) {
+        return StorageExecutor.run(() -> updateKitItems(id, items));
+    }
+
+    /**
+     * Asynchronously updates the price of a kit.
+     *
+     * @see #updateKitPrice(long, Double)
+     * @return a future completed when the kit has been updated
+     */
+    default CompletableFuture<Void> updateKitPriceAsync(long id, Double price) {
+        return StorageExecutor.run(() -> updateKitPrice(id, price));
+    }
+
+    /**
+     * Asynchronously updates the cooldown of a kit.
+     *
+     * @see #updateKitCooldown(long, long)
+     * @return a future completed when the kit has been updated
+     */
+    default CompletableFuture<Void> updateKitCooldownAsync(long id, long cooldown) {
+        return StorageExecutor.run(() -> updateKitCooldown(id, cooldown));
+    }
+
+    /**
+     * Asynchronously enables or disables a kit.
+     *
+     * @see #updateKitEnabled(long, boolean)
+     * @return a future completed when the kit has been updated
+     */
+    default CompletableFuture<Void> updateKitEnabledAsync(long id, boolean enable) {
+        return StorageExecutor.run(() -> updateKitEnabled(id, enable));
+    }
+
+    /**
+     * Asynchronously updates the icon of a kit.
+     *
+     * @see #updateKitIcon(long, Material)
+     * @return a future completed when the kit has been updated
+     */
+    default CompletableFuture<Void> updateKitIconAsync(long id, Material icon) {
+        return StorageExecutor.run(() -> updateKitIcon(id, icon));
+    }
+
+    /**
+     * Asynchronously sets whether a kit is one-time use.
+     *
+     * @see #updateKitOneTime(long, boolean)
+     * @return a future completed when the kit has been updated
+     */
+    default CompletableFuture<Void> updateKitOneTimeAsync(long id, boolean isOneTime) {
+        return StorageExecutor.run(() -> updateKitOneTime(id, isOneTime));
+    }
+
+    /**
+     * Asynchronously removes a kit from the database.
+     *
+     * @see #removeKit(long)
+     * @return a future completed when the kit has been removed
+     */
+    default CompletableFuture<Void> removeKitAsync(long id) {
+        return StorageExecutor.run(() -> removeKit(id));
+    }
+
+    /**
+     * Asynchronously retrieves all kits from the database.
+     *
+     * @see #getKits()
+     * @return a future completed with the list of all kits
+     */
+    default CompletableFuture<List<Kit>> getKitsAsync() {
+        return StorageExecutor.supply(this::getKits);
+    }
+
+    /**
+     * Asynchronously finds a kit by its ID.
+     *
+     * @see #findKit(long)
+     * @return a future completed with the kit, or null if not found
+     */
+    default CompletableFuture<Kit> findKitAsync(long id) {
+        return StorageExecutor.supply(() -> findKit(id));
+    }
+
+    /**
+     * Asynchronously finds a kit by its name.
+     *
+     * @see #findKit(String)
+     * @return a future completed with the kit, or null if not found
+     */
+    default CompletableFuture<Kit> findKitAsync(String name) {
+        return StorageExecutor.supply(() -> findKit(name));
+    }
+
+    /**
+     * Asynchronously adds a cooldown period for a kit assigned to a player.
+     *
+     * @see #addKitCooldown(UUID, long, LocalDateTime)
+     * @return a future completed when the cooldown has been added
+     */
+    default CompletableFuture<Void> addKitCooldownAsync(UUID playerId, long kitId, LocalDateTime end) {
+        return StorageExecutor.run(() -> addKitCooldown(playerId, kitId, end));
+    }
+
+    /**
+     * Asynchronously updates the cooldown period for a kit assigned to a player.
+     *
+     * @see #updateKitCooldown(UUID, long, LocalDateTime)
+     * @return a future completed when the cooldown has been updated
+     */
+    default CompletableFuture<Void> updateKitCooldownAsync(UUID playerId, long kitId, LocalDateTime end) {
+        return StorageExecutor.run(() -> updateKitCooldown(playerId, kitId, end));
+    }
+
+    /**
+     * Asynchronously removes the cooldown period for a kit assigned to a player.
+     *
+     * @see #removeKitCooldown(UUID, long)
+     * @return a future completed when the cooldown has been removed
+     */
+    default CompletableFuture<Void> removeKitCooldownAsync(UUID playerId, long kitId) {
+        return StorageExecutor.run(() -> removeKitCooldown(playerId, kitId));
+    }
+
+    /**
+     * Asynchronously removes all cooldown periods for kits assigned to a player.
+     *
+     * @see #removeKitCooldowns(UUID)
+     * @return a future completed when the cooldowns have been removed
+     */
+    default CompletableFuture<Void> removeKitCooldownsAsync(UUID playerId) {
+        return StorageExecutor.run(() -> removeKitCooldowns(playerId));
+    }
+
+    /**
+     * Asynchronously removes all cooldown periods for a specific kit.
+     *
+     * @see #removeKitCooldowns(long)
+     * @return a future completed when the cooldowns have been removed
+     */
+    default CompletableFuture<Void> removeKitCooldownsAsync(long kitId) {
+        return StorageExecutor.run(() -> removeKitCooldowns(kitId));
+    }
+
+    /**
+     * Asynchronously retrieves all cooldown periods for kits assigned to a player.
+     *
+     * @see #getKitCooldowns(UUID)
+     * @return a future completed with the list of the player's kit cooldowns
+     */
+    default CompletableFuture<List<KitCooldown>> getKitCooldownsAsync(UUID playerId) {
+        return StorageExecutor.supply(() -> getKitCooldowns(playerId));
+    }
+
+    /**
+     * Asynchronously finds the cooldown period for a specific kit assigned to a player.
+     *
+     * @see #findKitCooldown(UUID, long)
+     * @return a future completed with the kit cooldown, or null if not found
+     */
+    default CompletableFuture<KitCooldown> findKitCooldownAsync(UUID playerId, long kitId) {
+        return StorageExecutor.supply(() -> findKitCooldown(playerId, kitId));
+    }
+
+    /**
+     * Asynchronously gets when the cooldown of a player for a kit expires.
+     *
+     * @see #getCooldownExpiry(UUID, long)
+     * @return a future completed with the expiry in epoch milliseconds, or {@link #NO_COOLDOWN}
+     */
+    default CompletableFuture<Long> getCooldownExpiryAsync(UUID playerId, long kitId) {
+        return StorageExecutor.supply(() -> getCooldownExpiry(playerId, kitId));
+    }
+
+    /**
+     * Asynchronously loads the cooldowns of a player into memory.
+     *
+     * @see #loadKitCooldowns(UUID)
+     * @return a future completed when the cooldowns have been loaded
+     */
+    default CompletableFuture<Void> loadKitCooldownsAsync(UUID playerId) {
+        return StorageExecutor.run(() -> loadKitCooldowns(playerId));
+    }
+
+    /**
+     * Asynchronously claims a kit for a player.
+     *
+     * @see #redeem(UUID, long, long)
+     * @return a future completed with the result of the claim
+     */
+    default CompletableFuture<RedeemResult> redeemAsync(UUID playerId, long kitId, long now) {
+        return StorageExecutor.supply(() -> redeem(playerId, kitId, now));
+    }
+
+    /**
+     * Asynchronously reverts a successful claim.
+     *
+     * @see #revertRedeem(UUID, RedeemResult)
+     * @return a future completed when the claim has been reverted
+     */
+    default CompletableFuture<Void> revertRedeemAsync(UUID playerId, RedeemResult result) {
+        return StorageExecutor.run(() -> revertRedeem(playerId, result));
+    }
+
+    /**
+     * Asynchronously stores items in the claim box of a player.
+     *
+     * @see #addClaimItems(UUID, List)
+     * @return a future completed with true if the items have been stored
+     */
+    default CompletableFuture<Boolean> addClaimItemsAsync(UUID playerId, List<ItemStack> items) {
+        return StorageExecutor.supply(() -> addClaimItems(playerId, items));
+    }
+
+    /**
+     * Asynchronously retrieves the items in the claim box of a player.
+     *
+     * @see #getClaimItems(UUID)
+     * @return a future completed with the stored items, or null if they could not be read
+     */
+    default CompletableFuture<List<ClaimItem>> getClaimItemsAsync(UUID playerId) {
+        return StorageExecutor.supply(() -> getClaimItems(playerId));
+    }
+
+    /**
+     * Asynchronously removes items from the claim box of a player.
+     *
+     * @see #removeClaimItem(UUID, long)
+     * @return a future completed with the items removed by this call
+     */
+    default CompletableFuture<List<ClaimItem>> removeClaimItemsAsync(UUID playerId, List<ClaimItem> items) {
+        return StorageExecutor.supply(() -> {
+            List<ClaimItem> removed = new ArrayList<>();
+            for (ClaimItem item : items) {
+                if (removeClaimItem(playerId, item.Id))
+                    removed.add(item);
+            }
+            return removed;
+        });
+    }
+    //#endregion
 }
@@ -0,0 +1,36 @@
+package io.github.tavstaldev.openkits.models;
+
+import java.util.function.Consumer;
+
+/**
+ * Interface for broadcasting changes of the shared database between the servers of a network,
+ * so every server can update its caches without reloading them periodically.
+ */
+public interface IInvalidationBus {
+    /**
+     * Starts receiving the changes made on the other servers.
+     *
+     * @param handler called with every change made on another server
+     */
+    void start(Consumer<Invalidation> handler);
+
+    /**
+     * Stops receiving changes and sends the changes that are still waiting to be sent.
+     */
+    void stop();
+
+    /**
+     * Broadcasts a change made on this server to the other servers.
+     * Must not block, it is called from the main thread.
+     *
+     * @param invalidation the change to broadcast
+     */
+    void publish(Invalidation invalidation);
+
+    /**
+     * Gets the identifier of this server on the bus.
+     *
+     * @return the identifier of this server
+     */
+    String getServerId();
+}
@@ -0,0 +1,113 @@
+package io.github.tavstaldev.openkits.models;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Describes a change of the shared database that the other servers have to apply to their caches.
+ */
+public class Invalidation {
+    /**
+     * The kinds of changes.
+     */
+    public enum ChangeType {
+        /**
+         * A kit was added or changed. The kit has to be read again.
+         */
+        KIT,
+        /**
+         * A kit was removed.
+         */
+        KIT_REMOVED,
+        /**
+         * The cooldown of a player for a kit was set.
+         */
+        COOLDOWN,
+        /**
+         * The cooldown of a player for a kit was removed.
+         */
+        COOLDOWN_REMOVED,
+        /**
+         * Every cooldown of a player was removed.
+         */
+        PLAYER_COOLDOWNS_REMOVED,
+        /**
+         * Every cooldown of a kit was removed.
+         */
+        KIT_COOLDOWNS_REMOVED
+    }
+
+    /**
+     * The identifier of the server the change was made on.
+     */
+    public String ServerId;
+    /**
+     * The kind of the change.
+     */
+    public ChangeType Type;
+    /**
+     * The unique identifier of the kit, or 0 if the change is not about a kit.
+     */
+    public long KitId;
+    /**
+     * The unique identifier of the player, or null if the change is not about a player.
+     */
+    public UUID PlayerId;
+    /**
+     * The new expiry of the cooldown in epoch milliseconds, or 0 if the change is not a cooldown.
+     */
+    public long ExpiresAt;
+
+    /**
+     * Constructs a new Invalidation instance.
+     *
+     * @param serverId  the identifier of the server the change was made on
+     * @param type      the kind of the change
+     * @param kitId     the unique identifier of the kit
+     * @param playerId  the unique identifier of the player
+     * @param expiresAt the new expiry of the cooldown in epoch milliseconds
+     */
+    public Invalidation(String serverId, ChangeType type, long kitId, UUID playerId, long expiresAt) {
+        ServerId = serverId;
+        Type = type;
+        KitId = kitId;
+        PlayerId = playerId;
+        ExpiresAt = expiresAt;
+    }
+
+    /**
+     * Writes the invalidation to a binary stream.
+     *
+     * @param output the stream to write to
+     * @throws IOException if the stream could not be written
+     */
+    public void write(DataOutput output) throws IOException {
+        output.writeUTF(ServerId);
+        output.writeByte(Type.ordinal());
+        output.writeLong(KitId);
+        output.writeBoolean(PlayerId != null);
+        if (PlayerId != null) {
+            output.writeLong(PlayerId.getMostSignificantBits());
+            output.writeLong(PlayerId.getLeastSignificantBits());
+        }
+        output.writeLong(ExpiresAt);
+    }
+
+    /**
+     * Reads an invalidation written by {@link #write(DataOutput)}.
+     *
+     * @param input the stream to read from
+     * @return the invalidation
+     * @throws IOException if the stream could not be read
+     */
+    public static Invalidation read(DataInput input) throws IOException {
+        String serverId = input.readUTF();
+        ChangeType type = ChangeType.values()[input.readByte()];
+        long kitId = input.readLong();
+        UUID playerId = input.readBoolean() ? new UUID(input.readLong(), input.readLong()) : null;
+        long expiresAt = input.readLong();
+        return new Invalidation(serverId, type, kitId, playerId, expiresAt);
+    }
+}
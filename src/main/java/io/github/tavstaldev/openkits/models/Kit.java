@@ -1,13 +1,15 @@
 package io.github.tavstaldev.openkits.models;
 
+import io.github.tavstaldev.minecorelib.core.GuiDupeDetector;
 import io.github.tavstaldev.openkits.OpenKits;
+import io.github.tavstaldev.openkits.gui.ClaimGUI;
 import io.github.tavstaldev.openkits.utils.EconomyUtils;
+import io.github.tavstaldev.openkits.utils.GrantPlanner;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
+import org.bukkit.persistence.PersistentDataType;
 
-import java.time.Duration;
-import java.time.LocalDateTime;
 import java.util.*;
 
 /**
@@ -24,6 +26,18 @@ public class Kit {
     public boolean IsOneTime;
     public boolean Enable;
     public byte[] Items;
+    private volatile DecodedItems _decodedItems;
+    private volatile PreviewItems _previewItems;
+
+    /**
+     * The decoded items of a kit, together with the serialized data they were decoded from.
+     */
+    private record DecodedItems(byte[] source, List<ItemStack> templates) {}
+
+    /**
+     * The dupe protected preview items of a kit, together with the serialized data they were built from.
+     */
+    private record PreviewItems(byte[] source, ItemStack[] items) {}
 
 
     public Kit(long id, String name, String icon, Double price, boolean requirePermission, String permission, long cooldown, boolean isOneTime, boolean enable, byte[] items) {
@@ -74,38 +88,124 @@ public class Kit {
     }
 
     /**
-     * Deserializes the items from the byte array.
+     * Gets a copy of the items in the kit.
+     * The items are only deserialized once, every call returns clones of the decoded items.
      *
-     * @return the list of deserialized items
+     * @return the list of items
      */
     public List<ItemStack> getItems() {
-        return OpenKits.ItemMetaSerializer.deserializeItemStackListFromBytes(Items);
+        List<ItemStack> templates = getItemTemplates();
+        List<ItemStack> items = new ArrayList<>(templates.size());
+        for (ItemStack template : templates) {
+            items.add(template == null ? null : template.clone());
+        }
+        return items;
+    }
+
+    /**
+     * Gets the items of the kit marked as dupe protected, for displaying them in a GUI.
+     * The items are built once per change of the kit and shared by every viewer, so they must not be modified.
+     * Empty entries are null.
+     *
+     * @return the preview items
+     */
+    public ItemStack[] getPreviewItems() {
+        byte[] source = Items;
+        PreviewItems preview = _previewItems;
+        if (preview == null || preview.source() != source) {
+            List<ItemStack> templates = getItemTemplates();
+            ItemStack[] items = new ItemStack[templates.size()];
+            for (int i = 0; i < items.length; i++) {
+                ItemStack template = templates.get(i);
+                if (template == null || template.getType().isAir())
+                    continue;
+
+                ItemStack item = template.clone();
+                var meta = item.getItemMeta();
+                if (meta != null) {
+                    meta.getPersistentDataContainer().set(GuiDupeDetector.getDupeProtectedKey(), PersistentDataType.BOOLEAN, true);
+                    item.setItemMeta(meta);
+                }
+                items[i] = item;
+            }
+            preview = new PreviewItems(source, items);
+            _previewItems = preview;
+        }
+        return preview.items();
     }
 
+    /**
+     * Gets the number of items in the kit without copying them.
+     *
+     * @return the number of items
+     */
+    public int getItemCount() {
+        return getItemTemplates().size();
+    }
 
     /**
-     * Gives the items from the kit to the specified player.
+     * Gets the decoded items of the kit, deserializing them again if the serialized items were replaced.
+     * The returned items are shared and must not be modified.
+     *
+     * @return the decoded items
+     */
+    private List<ItemStack> getItemTemplates() {
+        byte[] source = Items;
+        DecodedItems decoded = _decodedItems;
+        if (decoded == null || decoded.source() != source) {
+            List<ItemStack> items = OpenKits.ItemMetaSerializer.deserializeItemStackListFromBytes(source);
+            decoded = new DecodedItems(source, items == null ? List.of() : Collections.unmodifiableList(new ArrayList<>(items)));
+            _decodedItems = decoded;
+        }
+        return decoded.templates();
+    }
+
+
+    /**
+     * Gives the items from the kit to the specified player with a single inventory update.
+     * The items that do not fit are stored in the claim box if 'kitConfig.useClaimBox' is enabled, or dropped if they cannot be stored,
+     * dropped as full stacks if 'kitConfig.dropItemsOnFullInventory' is enabled, otherwise nothing is given.
      *
      * @param player the player to whom the items will be given
-     * @return true if the items were successfully given to the player
+     * @return true if the items were given, false if they did not fit and nothing was given
      */
     public boolean give(Player player) {
-        List<ItemStack> items = getItems();
-        for (ItemStack item : items) {
-            Map<Integer, ItemStack> remainingItems = player.getInventory().addItem(item);
-            if (!OpenKits.Instance.getConfig().getBoolean("dropItemsOnFullInventory"))
-                continue;
-
-            if (remainingItems.isEmpty())
-                continue;
+        GrantPlanner.Plan plan = GrantPlanner.plan(player, getItemTemplates());
+        if (plan.fits()) {
+            GrantPlanner.apply(player, plan, false);
+            return true;
+        }
 
-            for (ItemStack remainingItem : remainingItems.values()) {
-                player.getWorld().dropItem(player.getLocation(), remainingItem);
-            }
+        if (OpenKits.config().getBoolean("kitConfig.useClaimBox", true)) {
+            GrantPlanner.apply(player, plan, false);
+            List<ItemStack> overflow = plan.overflow();
+            ClaimGUI.store(player, overflow).thenAccept(stored -> {
+                if (stored && player.isOnline())
+                    OpenKits.Instance.sendLocalizedMsg(player, "Commands.Claim.Stored", Map.of("amount", GrantPlanner.count(overflow)));
+            });
+            return true;
         }
+
+        if (!OpenKits.config().getBoolean("kitConfig.dropItemsOnFullInventory", true))
+            return false;
+
+        GrantPlanner.apply(player, plan, true);
         return true;
     }
 
+    /**
+     * Checks whether the kit can be given to the player with the current inventory.
+     *
+     * @param player the player to check
+     * @return true if the items fit or the overflow may be stored or dropped
+     */
+    public boolean canFit(Player player) {
+        if (OpenKits.config().getBoolean("kitConfig.useClaimBox", true)
+                || OpenKits.config().getBoolean("kitConfig.dropItemsOnFullInventory", true))
+            return true;
+        return GrantPlanner.plan(player, getItemTemplates()).fits();
+    }
+
     /**
      * Checks if the player can get the kit.
      *
@@ -113,6 +213,18 @@ public class Kit {
      * @return true if the player can get the kit, false otherwise
      */
     public boolean canGet(Player player) {
+        return canGet(player, OpenKits.Database.getCooldownExpiry(player.getUniqueId(), Id));
+    }
+
+    /**
+     * Checks if the player can get the kit using an already fetched cooldown expiry.
+     *
+     * @param player    the player to check
+     * @param expiresAt the expiry of the player's cooldown for this kit in epoch milliseconds,
+     *                  or {@link IDatabase#NO_COOLDOWN} if there is none
+     * @return true if the player can get the kit, false otherwise
+     */
+    public boolean canGet(Player player, long expiresAt) {
         if (!Enable) {
             return false;
         }
@@ -120,10 +232,8 @@ public class Kit {
         if (RequirePermission && !player.hasPermission(Permission))
             return false;
 
-        KitCooldown cooldown = OpenKits.Database.findKitCooldown(player.getUniqueId(), Id);
-        if (cooldown != null) {
-            Duration duration = Duration.between(LocalDateTime.now(), cooldown.End);
-            if (duration.getSeconds() > 0) {
+        if (expiresAt != IDatabase.NO_COOLDOWN) {
+            if (expiresAt > System.currentTimeMillis()) {
                 return false;
             }
 
@@ -132,6 +242,6 @@ public class Kit {
             }
         }
 
-        return Price <= 0 || EconomyUtils.has(player, Price);
+        return Price <= 0 || EconomyUtils.canAfford(player, Price);
     }
 }
@@ -1,6 +1,8 @@
 package io.github.tavstaldev.openkits.models;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.UUID;
 
 /**
@@ -32,4 +34,24 @@ public class KitCooldown {
         KitId = kitId;
         End = end;
     }
+
+    /**
+     * Converts a local date and time to epoch milliseconds using the system time zone.
+     *
+     * @param time the local date and time
+     * @return the epoch milliseconds
+     */
+    public static long toEpochMilli(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Converts epoch milliseconds to a local date and time using the system time zone.
+     *
+     * @param epochMilli the epoch milliseconds
+     * @return the local date and time
+     */
+    public static LocalDateTime fromEpochMilli(long epochMilli) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMilli), ZoneId.systemDefault());
+    }
 }
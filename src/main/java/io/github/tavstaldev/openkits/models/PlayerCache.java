@@ -1,9 +1,13 @@
 package io.github.tavstaldev.openkits.models;
 
 import com.samjakob.spigui.menu.SGMenu;
+import io.github.tavstaldev.openkits.gui.ClaimGUI;
 import io.github.tavstaldev.openkits.gui.KitsGUI;
 import io.github.tavstaldev.openkits.gui.PreviewGUI;
 import org.bukkit.entity.Player;
+import org.bukkit.inventory.InventoryHolder;
+
+import java.util.List;
 
 /**
  * Represents the data associated with a player in the OpenKits plugin.
@@ -13,9 +17,14 @@ public class PlayerCache {
     private boolean _isGUIOpened;
     private SGMenu _kitsMenu;
     private SGMenu _previewMenu;
+    private SGMenu _claimMenu;
     private int _kitsPage;
     private int _previewPage;
+    private int _claimPage;
     private Kit _previewKit;
+    private List<ClaimItem> _claimItems;
+    // When the menus may be released in epoch milliseconds, 0 while one of them is open
+    private long _menusReleaseAt;
 
     /**
      * Constructs a new PlayerCache object for the specified player.
@@ -27,8 +36,11 @@ public class PlayerCache {
         _isGUIOpened = false;
         _kitsMenu = null;
         _previewMenu = null;
+        _claimMenu = null;
         _kitsPage = 0;
         _previewPage = 0;
+        _claimPage = 0;
+        _claimItems = List.of();
     }
 
     /**
@@ -73,6 +85,90 @@ public class PlayerCache {
         return _previewMenu;
     }
 
+    /**
+     * Gets the claim menu for the player. If the claim menu is not initialized, it creates a new one.
+     *
+     * @return the claim menu
+     */
+    public SGMenu getClaimMenu() {
+        if (_claimMenu == null) {
+            _claimMenu = ClaimGUI.create(_player);
+        }
+        return _claimMenu;
+    }
+
+    /**
+     * Checks whether an inventory belongs to one of the menus of the player.
+     *
+     * @param holder the holder of the inventory
+     * @return true if the inventory is the kits, preview or claim menu of the player
+     */
+    public boolean isMenu(InventoryHolder holder) {
+        return holder != null && (holder == _kitsMenu || holder == _previewMenu || holder == _claimMenu);
+    }
+
+    /**
+     * Checks whether an inventory belongs to the kits menu of the player, without creating the menu.
+     *
+     * @param holder the holder of the inventory
+     * @return true if the inventory is the kits menu of the player
+     */
+    public boolean isKitsMenu(InventoryHolder holder) {
+        return holder != null && holder == _kitsMenu;
+    }
+
+    /**
+     * Checks whether an inventory belongs to the claim menu of the player, without creating the menu.
+     *
+     * @param holder the holder of the inventory
+     * @return true if the inventory is the claim menu of the player
+     */
+    public boolean isClaimMenu(InventoryHolder holder) {
+        return holder != null && holder == _claimMenu;
+    }
+
+    /**
+     * Keeps the menus while one of them is open.
+     */
+    public void markMenusInUse() {
+        _menusReleaseAt = 0;
+    }
+
+    /**
+     * Schedules the release of the menus after they were closed.
+     *
+     * @param releaseAt when the menus may be released in epoch milliseconds
+     */
+    public void markMenusIdle(long releaseAt) {
+        _menusReleaseAt = Math.max(1, releaseAt);
+    }
+
+    /**
+     * Releases the menus and the data shown in them if they have been idle long enough.
+     * The menus are created again the next time they are opened.
+     *
+     * @param now the current time in epoch milliseconds
+     * @return true if the menus were released
+     */
+    public boolean releaseIdleMenus(long now) {
+        if (_menusReleaseAt == 0 || now < _menusReleaseAt)
+            return false;
+
+        // Opened again without an open event reaching us, keep them
+        if (_player.isOnline() && isMenu(_player.getOpenInventory().getTopInventory().getHolder())) {
+            _menusReleaseAt = 0;
+            return false;
+        }
+
+        _menusReleaseAt = 0;
+        _kitsMenu = null;
+        _previewMenu = null;
+        _claimMenu = null;
+        _previewKit = null;
+        _claimItems = List.of();
+        return true;
+    }
+
     /**
      * Gets the current page number of the 'kits menu'.
      *
@@ -126,4 +222,40 @@ public class PlayerCache {
     public void setPreviewKit(Kit kit) {
         _previewKit = kit;
     }
+
+    /**
+     * Gets the current page number of the claim menu.
+     *
+     * @return the current claim page number
+     */
+    public int getClaimPage() {
+        return _claimPage;
+    }
+
+    /**
+     * Sets the current page number of the claim menu.
+     *
+     * @param claimPage the new claim page number
+     */
+    public void setClaimPage(int claimPage) {
+        _claimPage = claimPage;
+    }
+
+    /**
+     * Gets the items of the claim box shown in the claim menu.
+     *
+     * @return the last loaded claim items
+     */
+    public List<ClaimItem> getClaimItems() {
+        return _claimItems;
+    }
+
+    /**
+     * Sets the items of the claim box shown in the claim menu.
+     *
+     * @param claimItems the loaded claim items
+     */
+    public void setClaimItems(List<ClaimItem> claimItems) {
+        _claimItems = claimItems;
+    }
 }
@@ -0,0 +1,113 @@
+package io.github.tavstaldev.openkits.models;
+
+/**
+ * The result of an attempt to claim a kit.
+ */
+public class RedeemResult {
+    /**
+     * The possible outcomes of a claim.
+     */
+    public enum Outcome {
+        /**
+         * The cooldown was set, the kit can be given.
+         */
+        SUCCESS,
+        /**
+         * The kit is still on cooldown.
+         */
+        ON_COOLDOWN,
+        /**
+         * The kit can only be claimed once and was already claimed.
+         */
+        ONE_TIME,
+        /**
+         * The kit does not exist.
+         */
+        KIT_NOT_FOUND,
+        /**
+         * The claim could not be stored.
+         */
+        FAILED
+    }
+
+    /**
+     * The outcome of the claim.
+     */
+    public Outcome Status;
+    /**
+     * The unique identifier of the kit.
+     */
+    public long KitId;
+    /**
+     * The new expiry on success, otherwise the current expiry, in epoch milliseconds,
+     * or {@link IDatabase#NO_COOLDOWN} if there is none.
+     */
+    public long ExpiresAt;
+    /**
+     * The expiry replaced by a successful claim in epoch milliseconds, or {@link IDatabase#NO_COOLDOWN} if there was none.
+     * Used to revert the claim.
+     */
+    public long PreviousExpiresAt;
+
+    /**
+     * Constructs a new RedeemResult instance.
+     *
+     * @param status            the outcome of the claim
+     * @param kitId             the unique identifier of the kit
+     * @param expiresAt         the new or current expiry in epoch milliseconds
+     * @param previousExpiresAt the replaced expiry in epoch milliseconds
+     */
+    public RedeemResult(Outcome status, long kitId, long expiresAt, long previousExpiresAt) {
+        Status = status;
+        KitId = kitId;
+        ExpiresAt = expiresAt;
+        PreviousExpiresAt = previousExpiresAt;
+    }
+
+    /**
+     * Checks whether a kit can be claimed with the given current cooldown.
+     *
+     * @param kit       the kit to claim
+     * @param expiresAt the current expiry in epoch milliseconds, or {@link IDatabase#NO_COOLDOWN} if there is none
+     * @param now       the current time in epoch milliseconds
+     * @return the reason of the refusal, or null if the kit can be claimed
+     */
+    public static RedeemResult check(Kit kit, long expiresAt, long now) {
+        if (expiresAt == IDatabase.NO_COOLDOWN)
+            return null;
+        if (expiresAt > now)
+            return new RedeemResult(Outcome.ON_COOLDOWN, kit.Id, expiresAt, expiresAt);
+        if (kit.IsOneTime)
+            return new RedeemResult(Outcome.ONE_TIME, kit.Id, expiresAt, expiresAt);
+        return null;
+    }
+
+    /**
+     * Creates a result for a kit that does not exist.
+     *
+     * @param kitId the unique identifier of the kit
+     * @return the result
+     */
+    public static RedeemResult notFound(long kitId) {
+        return new RedeemResult(Outcome.KIT_NOT_FOUND, kitId, IDatabase.NO_COOLDOWN, IDatabase.NO_COOLDOWN);
+    }
+
+    /**
+     * Creates a result for a claim that could not be stored.
+     *
+     * @param kitId the unique identifier of the kit
+     * @return the result
+     */
+    public static RedeemResult failed(long kitId) {
+        return new RedeemResult(Outcome.FAILED, kitId, IDatabase.NO_COOLDOWN, IDatabase.NO_COOLDOWN);
+    }
+
+    /**
+     * Checks whether the claim succeeded.
+     *
+     * @return true if the kit can be given
+     */
+    public boolean isSuccess() {
+        return Status == Outcome.SUCCESS;
+    }
+}
@@ -0,0 +1,57 @@
+package io.github.tavstaldev.openkits.models;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.github.tavstaldev.openkits.managers.PoolMetricsTracker;
+
+/**
+ * A snapshot of the live statistics of the storage.
+ */
+public class StorageStatistics {
+    // Pool
+    public String StorageType;
+    public int ActiveConnections;
+    public int IdleConnections;
+    public int TotalConnections;
+    public int MaximumPoolSize;
+    public int ThreadsAwaitingConnection;
+    public long AcquireCount;
+    public double AverageAcquireMillis;
+    public double MaxAcquireMillis;
+    public long TimeoutCount;
+
+    // Writes
+    public int QueuedWrites;
+
+    /**
+     * Takes a snapshot of the statistics of a storage.
+     *
+     * @param storageType  the type of the storage
+     * @param dataSource   the connection pool, or null if it is not open
+     * @param tracker      the acquire time tracker of the pool
+     * @param queuedWrites the number of writes waiting for a dedicated writer, 0 if there is none
+     * @return the snapshot
+     */
+    public static StorageStatistics of(String storageType, HikariDataSource dataSource, PoolMetricsTracker tracker, int queuedWrites) {
+        StorageStatistics statistics = new StorageStatistics();
+        statistics.StorageType = storageType;
+        if (dataSource != null && !dataSource.isClosed()) {
+            statistics.MaximumPoolSize = dataSource.getMaximumPoolSize();
+            HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+            if (pool != null) {
+                statistics.ActiveConnections = pool.getActiveConnections();
+                statistics.IdleConnections = pool.getIdleConnections();
+                statistics.TotalConnections = pool.getTotalConnections();
+                statistics.ThreadsAwaitingConnection = pool.getThreadsAwaitingConnection();
+            }
+        }
+
+        statistics.AcquireCount = tracker.getAcquireCount();
+        statistics.AverageAcquireMillis = tracker.getAverageAcquireMillis();
+        statistics.MaxAcquireMillis = tracker.getMaxAcquireMillis();
+        statistics.TimeoutCount = tracker.getTimeoutCount();
+
+        statistics.QueuedWrites = queuedWrites;
+        return statistics;
+    }
+}
@@ -0,0 +1,84 @@
+package io.github.tavstaldev.openkits.tasks;
+
+import io.github.tavstaldev.minecorelib.core.PluginLogger;
+import io.github.tavstaldev.openkits.OpenKits;
+import org.bukkit.scheduler.BukkitRunnable;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A task that periodically deletes expired cooldowns from the database.
+ * Rows are deleted in bounded batches, so a large backlog is worked off over several runs
+ * instead of locking the cooldowns table for a long time.
+ * This task is executed as an asynchronous BukkitRunnable.
+ */
+public class CooldownPurgeTask extends BukkitRunnable {
+    private static final PluginLogger _logger = OpenKits.logger().withModule(CooldownPurgeTask.class);
+    private static final AtomicLong _purgedCount = new AtomicLong();
+    private static final AtomicLong _runCount = new AtomicLong();
+    private static final AtomicLong _lastRunAt = new AtomicLong();
+    private final AtomicBoolean _running = new AtomicBoolean(false);
+
+    /**
+     * Executes the purge logic.
+     * <br/>
+     * - Skips execution if the previous run has not finished yet.
+     * - Deletes at most 'storage.purge.batchesPerRun' batches of 'storage.purge.batchSize' rows.
+     * - Stops early once a batch deletes fewer rows than the batch size.
+     */
+    @Override
+    public void run() {
+        if (OpenKits.Database == null || !_running.compareAndSet(false, true))
+            return;
+
+        try {
+            int batchSize = Math.max(1, OpenKits.config().getInt("storage.purge.batchSize", 500));
+            int maxBatches = Math.max(1, OpenKits.config().getInt("storage.purge.batchesPerRun", 10));
+            long now = System.currentTimeMillis();
+            long purged = 0;
+            for (int batch = 0; batch < maxBatches && !isCancelled(); batch++) {
+                int deleted = OpenKits.Database.purgeExpiredCooldowns(now, batchSize);
+                purged += deleted;
+                if (deleted < batchSize)
+                    break;
+            }
+
+            _purgedCount.addAndGet(purged);
+            _runCount.incrementAndGet();
+            _lastRunAt.set(now);
+            if (purged > 0)
+                _logger.debug(String.format("Purged %s expired cooldowns.", purged));
+        }
+        finally {
+            _running.set(false);
+        }
+    }
+
+    /**
+     * Gets the number of cooldowns purged since the server started.
+     *
+     * @return the number of purged cooldowns
+     */
+    public static long getPurgedCount() {
+        return _purgedCount.get();
+    }
+
+    /**
+     * Gets the number of finished purge runs since the server started.
+     *
+     * @return the number of runs
+     */
+    public static long getRunCount() {
+        return _runCount.get();
+    }
+
+    /**
+     * Gets when the last purge run started.
+     *
+     * @return the start of the last run in epoch milliseconds, or 0 if there was none
+     */
+    public static long getLastRunAt() {
+        return _lastRunAt.get();
+    }
+}
@@ -0,0 +1,23 @@
+package io.github.tavstaldev.openkits.tasks;
+
+import io.github.tavstaldev.openkits.gui.KitsGUI;
+import io.github.tavstaldev.openkits.managers.PlayerCacheManager;
+import org.bukkit.scheduler.BukkitRunnable;
+
+/**
+ * A task that updates the live parts of the open GUIs and releases the idle menus once per second.
+ * A single task serves every player, so the cost does not grow with scheduled tasks per viewer.
+ * This task is executed as a BukkitRunnable on the main thread.
+ */
+public class GuiTickTask extends BukkitRunnable {
+
+    /**
+     * Updates the cooldown countdowns of the players looking at the Kits GUI
+     * and releases the menus that were closed longer ago than the idle time.
+     */
+    @Override
+    public void run() {
+        KitsGUI.tick();
+        PlayerCacheManager.releaseIdleMenus(System.currentTimeMillis());
+    }
+}
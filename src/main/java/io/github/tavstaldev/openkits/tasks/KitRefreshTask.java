@@ -0,0 +1,38 @@
+package io.github.tavstaldev.openkits.tasks;
+
+import io.github.tavstaldev.minecorelib.core.PluginLogger;
+import io.github.tavstaldev.openkits.OpenKits;
+import org.bukkit.scheduler.BukkitRunnable;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A task that periodically reloads the kits changed by the other servers sharing the database.
+ * Each run only reads the catalogue revision unless a kit has changed since the previous run.
+ * This task is executed as an asynchronous BukkitRunnable.
+ */
+public class KitRefreshTask extends BukkitRunnable {
+    private static final PluginLogger _logger = OpenKits.logger().withModule(KitRefreshTask.class);
+    private final AtomicBoolean _running = new AtomicBoolean(false);
+
+    /**
+     * Executes the refresh logic.
+     * <br/>
+     * - Skips execution if the previous run has not finished yet.
+     * - Reloads only the kits whose revision is newer than the loaded catalogue revision.
+     */
+    @Override
+    public void run() {
+        if (OpenKits.Database == null || !_running.compareAndSet(false, true))
+            return;
+
+        try {
+            int changed = OpenKits.Database.refreshKits();
+            if (changed > 0)
+                _logger.debug(String.format("Refreshed %s kits.", changed));
+        }
+        finally {
+            _running.set(false);
+        }
+    }
+}
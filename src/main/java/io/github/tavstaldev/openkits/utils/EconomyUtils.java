@@ -2,12 +2,19 @@ package io.github.tavstaldev.openkits.utils;
 
 import io.github.tavstaldev.minecorelib.core.PluginLogger;
 import io.github.tavstaldev.openkits.OpenKits;
+import io.github.tavstaldev.openkits.managers.StorageExecutor;
 import net.milkbowl.vault.economy.Economy;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.RegisteredServiceProvider;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
 /**
  * Utility class for handling economy-related operations using Vault.
  */
@@ -15,6 +22,13 @@ public class EconomyUtils {
     private static final PluginLogger _logger = OpenKits.logger().withModule(EconomyUtils.class);
     private static Economy economy = null;
     private static boolean economyEnabled;
+    // Short-lived balances, so a menu with many priced kits reads the balance once instead of once per kit
+    private static final Map<UUID, BalanceSnapshot> _balances = new ConcurrentHashMap<>();
+
+    /**
+     * A balance of a player and when it was read.
+     */
+    private record BalanceSnapshot(double balance, long readAt) {}
 
     /**
      * Sets up the economy by registering the Vault economy provider.
@@ -76,6 +90,102 @@ public class EconomyUtils {
         return getEconomy().has(player, amount);
     }
 
+    /**
+     * Gets the balance of a player, reading it from the economy at most once per 'economy.balanceCacheTime' milliseconds.
+     * Meant for display and pre-checks, the withdrawal itself always checks the real balance.
+     *
+     * @param player the player whose balance is to be retrieved.
+     * @return the recent balance of the player, or 0 if the economy is not enabled.
+     */
+    public static double getCachedBalance(@NotNull Player player) {
+        if (getEconomy() == null)
+            return 0;
+
+        long now = System.currentTimeMillis();
+        long ttl = OpenKits.config().getLong("economy.balanceCacheTime", 3000);
+        BalanceSnapshot snapshot = _balances.get(player.getUniqueId());
+        if (snapshot != null && now - snapshot.readAt() < ttl)
+            return snapshot.balance();
+
+        double balance = getBalance(player);
+        if (ttl > 0)
+            _balances.put(player.getUniqueId(), new BalanceSnapshot(balance, now));
+        return balance;
+    }
+
+    /**
+     * Checks if a player can afford a price, using the recent balance of the player.
+     *
+     * @param player the player whose balance is to be checked.
+     * @param amount the amount to check for.
+     * @return true if the recent balance is at least the specified amount, false otherwise.
+     */
+    public static boolean canAfford(@NotNull Player player, double amount) {
+        if (getEconomy() == null)
+            return false;
+        return getCachedBalance(player) >= amount;
+    }
+
+    /**
+     * Drops the recent balance of a player, so the next read goes to the economy.
+     *
+     * @param playerId the unique identifier of the player.
+     */
+    public static void forgetBalance(@NotNull UUID playerId) {
+        _balances.remove(playerId);
+    }
+
+    /**
+     * Withdraws money from a player's balance on the main thread.
+     * If 'economy.asyncTransactions' is enabled, it is done on a storage thread instead, which needs a thread-safe economy plugin.
+     *
+     * @param player the player whose balance is to be withdrawn from.
+     * @param amount the amount to withdraw.
+     * @return a future completed with true if the transaction was successful, false otherwise.
+     */
+    public static CompletableFuture<Boolean> withdrawAsync(@NotNull Player player, double amount) {
+        return transactionAsync(() -> {
+            try {
+                return withdraw(player, amount);
+            }
+            catch (Exception ex) {
+                _logger.error(String.format("Unknown error happened while withdrawing from %s...\n%s", player.getName(), ex.getMessage()));
+                return false;
+            }
+        });
+    }
+
+    /**
+     * Deposits money into a player's balance on the main thread, or on a storage thread the same way as {@link #withdrawAsync(Player, double)}.
+     *
+     * @param player the player whose balance is to be deposited into.
+     * @param amount the amount to deposit.
+     * @return a future completed with true if the transaction was successful, false otherwise.
+     */
+    public static CompletableFuture<Boolean> depositAsync(@NotNull Player player, double amount) {
+        return transactionAsync(() -> {
+            try {
+                return deposit(player, amount);
+            }
+            catch (Exception ex) {
+                _logger.error(String.format("Unknown error happened while depositing to %s...\n%s", player.getName(), ex.getMessage()));
+                return false;
+            }
+        });
+    }
+
+    /**
+     * Runs a transaction on the main thread, or on a storage thread if 'economy.asyncTransactions' is enabled.
+     *
+     * @param transaction the transaction to run.
+     * @return a future completed with the result of the transaction.
+     */
+    private static CompletableFuture<Boolean> transactionAsync(Supplier<Boolean> transaction) {
+        if (OpenKits.config().getBoolean("economy.asyncTransactions", false))
+            return StorageExecutor.supply(transaction);
+        return CompletableFuture.supplyAsync(transaction, StorageExecutor.mainThread());
+    }
+
     /**
      * Withdraws a certain amount of money from a player's balance.
      *
@@ -86,7 +196,14 @@ public class EconomyUtils {
     public static boolean withdraw(@NotNull Player player, double amount) {
         if (getEconomy() == null)
             return false;
-        return getEconomy().withdrawPlayer(player, amount).transactionSuccess();
+        // Forgotten after the transaction too, a balance read meanwhile is already stale
+        forgetBalance(player.getUniqueId());
+        try {
+            return getEconomy().withdrawPlayer(player, amount).transactionSuccess();
+        }
+        finally {
+            forgetBalance(player.getUniqueId());
+        }
     }
 
     /**
@@ -99,7 +216,14 @@ public class EconomyUtils {
     public static boolean deposit(@NotNull Player player, double amount) {
         if (getEconomy() == null)
             return false;
-        return getEconomy().depositPlayer(player, amount).transactionSuccess();
+        // Forgotten after the transaction too, a balance read meanwhile is already stale
+        forgetBalance(player.getUniqueId());
+        try {
+            return getEconomy().depositPlayer(player, amount).transactionSuccess();
+        }
+        finally {
+            forgetBalance(player.getUniqueId());
+        }
     }
 
     /**
@@ -0,0 +1,206 @@
+package io.github.tavstaldev.openkits.utils;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plans how the items of a kit fit into an inventory before anything is changed.
+ * The items are stacked the same way as {@link org.bukkit.inventory.Inventory#addItem(ItemStack...)} does,
+ * first onto similar partial stacks, then into empty slots, but on a copy of the contents,
+ * so the result can be applied with a single inventory update or rejected as a whole.
+ */
+public class GrantPlanner {
+    /**
+     * The planned contents of an inventory and the items that did not fit.
+     *
+     * @param contents the storage contents after the grant
+     * @param overflow the items that did not fit, merged into full stacks
+     */
+    public record Plan(ItemStack[] contents, List<ItemStack> overflow) {
+        /**
+         * Checks whether every item fits into the inventory.
+         *
+         * @return true if nothing overflows
+         */
+        public boolean fits() {
+            return overflow.isEmpty();
+        }
+    }
+
+    /**
+     * Plans the grant of items into the storage contents of a player's inventory.
+     *
+     * @param player the player receiving the items
+     * @param items  the items to grant, null entries are skipped
+     * @return the plan
+     */
+    public static Plan plan(Player player, List<ItemStack> items) {
+        return plan(player.getInventory().getStorageContents(), items);
+    }
+
+    /**
+     * Plans the grant of items into the given inventory contents.
+     * The given array and items are not modified.
+     *
+     * @param storageContents the current storage contents
+     * @param items           the items to grant, null entries are skipped
+     * @return the plan
+     */
+    public static Plan plan(ItemStack[] storageContents, List<ItemStack> items) {
+        ItemStack[] contents = new ItemStack[storageContents.length];
+        // Only the touched slots are cloned
+        boolean[] copied = new boolean[contents.length];
+        int firstEmpty = contents.length;
+        for (int slot = 0; slot < contents.length; slot++) {
+            ItemStack stack = storageContents[slot];
+            contents[slot] = isEmpty(stack) ? null : stack;
+            if (contents[slot] == null && slot < firstEmpty)
+                firstEmpty = slot;
+        }
+
+        List<ItemStack> overflow = new ArrayList<>();
+        for (ItemStack item : items) {
+            if (isEmpty(item))
+                continue;
+
+            int maxStackSize = Math.max(1, item.getMaxStackSize());
+            int remaining = item.getAmount();
+
+            // Top up the similar partial stacks
+            for (int slot = 0; slot < contents.length && remaining > 0; slot++) {
+                ItemStack stack = contents[slot];
+                if (stack == null || stack.getAmount() >= maxStackSize || !stack.isSimilar(item))
+                    continue;
+
+                if (!copied[slot]) {
+                    stack = stack.clone();
+                    contents[slot] = stack;
+                    copied[slot] = true;
+                }
+                int moved = Math.min(remaining, maxStackSize - stack.getAmount());
+                stack.setAmount(stack.getAmount() + moved);
+                remaining -= moved;
+            }
+
+            // Fill the empty slots
+            while (remaining > 0 && firstEmpty < contents.length) {
+                ItemStack stack = item.clone();
+                int moved = Math.min(remaining, maxStackSize);
+                stack.setAmount(moved);
+                contents[firstEmpty] = stack;
+                copied[firstEmpty] = true;
+                remaining -= moved;
+                firstEmpty = nextEmpty(contents, firstEmpty + 1);
+            }
+
+            if (remaining > 0)
+                addOverflow(overflow, item, remaining, maxStackSize);
+        }
+        return new Plan(contents, overflow);
+    }
+
+    /**
+     * Applies a plan with a single update of the storage contents.
+     *
+     * @param player the player receiving the items
+     * @param plan   the plan to apply
+     * @param drop   whether the items that did not fit are dropped at the player
+     */
+    public static void apply(Player player, Plan plan, boolean drop) {
+        PlayerInventory inventory = player.getInventory();
+        inventory.setStorageContents(plan.contents());
+        if (drop)
+            drop(player, plan.overflow());
+    }
+
+    /**
+     * Drops items at the location of a player.
+     *
+     * @param player the player to drop the items at
+     * @param items  the items to drop
+     */
+    public static void drop(Player player, List<ItemStack> items) {
+        if (items.isEmpty())
+            return;
+
+        World world = player.getWorld();
+        Location location = player.getLocation();
+        for (ItemStack stack : items)
+            world.dropItem(location, stack);
+    }
+
+    /**
+     * Counts the items in a list of stacks.
+     *
+     * @param items the stacks to count
+     * @return the sum of the stack amounts
+     */
+    public static int count(List<ItemStack> items) {
+        int count = 0;
+        for (ItemStack stack : items) {
+            if (stack != null)
+                count += stack.getAmount();
+        }
+        return count;
+    }
+
+    /**
+     * Merges items that did not fit into the overflow, so they are dropped as the fewest possible stacks.
+     *
+     * @param overflow     the overflow stacks
+     * @param item         the item that did not fit
+     * @param amount       the amount that did not fit
+     * @param maxStackSize the maximum stack size of the item
+     */
+    private static void addOverflow(List<ItemStack> overflow, ItemStack item, int amount, int maxStackSize) {
+        for (ItemStack stack : overflow) {
+            if (amount <= 0)
+                return;
+            if (stack.getAmount() >= maxStackSize || !stack.isSimilar(item))
+                continue;
+
+            int moved = Math.min(amount, maxStackSize - stack.getAmount());
+            stack.setAmount(stack.getAmount() + moved);
+            amount -= moved;
+        }
+
+        while (amount > 0) {
+            ItemStack stack = item.clone();
+            int moved = Math.min(amount, maxStackSize);
+            stack.setAmount(moved);
+            overflow.add(stack);
+            amount -= moved;
+        }
+    }
+
+    /**
+     * Finds the next empty slot.
+     *
+     * @param contents the contents to search
+     * @param from     the first slot to check
+     * @return the index of the empty slot, or the length of the contents if there is none
+     */
+    private static int nextEmpty(ItemStack[] contents, int from) {
+        for (int slot = from; slot < contents.length; slot++) {
+            if (contents[slot] == null)
+                return slot;
+        }
+        return contents.length;
+    }
+
+    /**
+     * Checks whether a stack is empty.
+     *
+     * @param stack the stack to check
+     * @return true if the stack is null, air or has no items
+     */
+    private static boolean isEmpty(ItemStack stack) {
+        return stack == null || stack.getType().isAir() || stack.getAmount() <= 0;
+    }
+}
@@ -0,0 +1,233 @@
+package io.github.tavstaldev.openkits.utils;
+
+import java.util.Arrays;
+
+/**
+ * A hash map with primitive long keys and values.
+ * Uses open addressing with linear probing, so lookups do not box and do not allocate.
+ * This class is not thread-safe.
+ */
+public class LongLongHashMap {
+    private static final int MIN_CAPACITY = 4;
+    private long[] _keys;
+    private long[] _values;
+    private boolean[] _used;
+    private int _mask;
+    private int _size;
+
+    /**
+     * Called for every entry of the map.
+     */
+    @FunctionalInterface
+    public interface EntryConsumer {
+        /**
+         * Accepts an entry of the map.
+         *
+         * @param key   the key of the entry
+         * @param value the value of the entry
+         */
+        void accept(long key, long value);
+    }
+
+    /**
+     * Creates an empty map.
+     */
+    public LongLongHashMap() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * Creates an empty map that can hold the given number of entries without resizing.
+     *
+     * @param expectedSize the expected number of entries
+     */
+    public LongLongHashMap(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * Gets the value mapped to the key.
+     *
+     * @param key          the key to look up
+     * @param defaultValue the value returned when the key is not mapped
+     * @return the mapped value, or the default value
+     */
+    public long get(long key, long defaultValue) {
+        int index = indexOf(key);
+        return index < 0 ? defaultValue : _values[index];
+    }
+
+    /**
+     * Checks whether the key is mapped.
+     *
+     * @param key the key to look up
+     * @return true if the key is mapped, false otherwise
+     */
+    public boolean containsKey(long key) {
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * Maps the key to the value, replacing the previous value.
+     *
+     * @param key   the key
+     * @param value the value
+     */
+    public void put(long key, long value) {
+        int index = slot(key);
+        while (_used[index]) {
+            if (_keys[index] == key) {
+                _values[index] = value;
+                return;
+            }
+            index = (index + 1) & _mask;
+        }
+
+        _used[index] = true;
+        _keys[index] = key;
+        _values[index] = value;
+        // Keep the load factor under 0.75
+        if (++_size * 4 > _keys.length * 3)
+            resize(_keys.length * 2);
+    }
+
+    /**
+     * Removes the mapping of the key.
+     *
+     * @param key the key to remove
+     * @return true if the key was mapped, false otherwise
+     */
+    public boolean remove(long key) {
+        int index = indexOf(key);
+        if (index < 0)
+            return false;
+
+        // Shift the following entries of the probe sequence back, so no tombstones are needed
+        int next = index;
+        while (true) {
+            next = (next + 1) & _mask;
+            if (!_used[next])
+                break;
+
+            int home = slot(_keys[next]);
+            boolean inRange = index <= next ? (index < home && home <= next) : (index < home || home <= next);
+            if (inRange)
+                continue;
+
+            _keys[index] = _keys[next];
+            _values[index] = _values[next];
+            index = next;
+        }
+
+        _used[index] = false;
+        _size--;
+        return true;
+    }
+
+    /**
+     * Removes every mapping.
+     */
+    public void clear() {
+        Arrays.fill(_used, false);
+        _size = 0;
+    }
+
+    /**
+     * Gets the number of mappings.
+     *
+     * @return the number of mappings
+     */
+    public int size() {
+        return _size;
+    }
+
+    /**
+     * Checks whether the map is empty.
+     *
+     * @return true if there are no mappings, false otherwise
+     */
+    public boolean isEmpty() {
+        return _size == 0;
+    }
+
+    /**
+     * Calls the consumer for every mapping.
+     *
+     * @param consumer the consumer to call
+     */
+    public void forEach(EntryConsumer consumer) {
+        for (int i = 0; i < _keys.length; i++) {
+            if (_used[i])
+                consumer.accept(_keys[i], _values[i]);
+        }
+    }
+
+    /**
+     * Finds the slot of a mapped key.
+     *
+     * @param key the key to look up
+     * @return the slot of the key, or -1 if the key is not mapped
+     */
+    private int indexOf(long key) {
+        int index = slot(key);
+        while (_used[index]) {
+            if (_keys[index] == key)
+                return index;
+            index = (index + 1) & _mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the preferred slot of a key.
+     *
+     * @param key the key
+     * @return the preferred slot
+     */
+    private int slot(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & _mask;
+    }
+
+    /**
+     * Moves every mapping into new arrays with the given capacity.
+     *
+     * @param capacity the new capacity, a power of two
+     */
+    private void resize(int capacity) {
+        long[] keys = _keys;
+        long[] values = _values;
+        boolean[] used = _used;
+        allocate(capacity);
+        _size = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (used[i])
+                put(keys[i], values[i]);
+        }
+    }
+
+    /**
+     * Allocates empty arrays with the given capacity.
+     *
+     * @param capacity the capacity, a power of two
+     */
+    private void allocate(int capacity) {
+        _keys = new long[capacity];
+        _values = new long[capacity];
+        _used = new boolean[capacity];
+        _mask = capacity - 1;
+    }
+
+    /**
+     * Gets the smallest power of two capacity that holds the given number of entries under the load factor.
+     *
+     * @param expectedSize the expected number of entries
+     * @return the capacity
+     */
+    private static int capacityFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity * 3 < expectedSize * 4)
+            capacity <<= 1;
+        return capacity;
+    }
+}
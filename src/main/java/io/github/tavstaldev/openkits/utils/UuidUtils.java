@@ -0,0 +1,34 @@
+package io.github.tavstaldev.openkits.utils;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+/**
+ * Utility class for storing UUIDs in binary database columns.
+ */
+public class UuidUtils {
+
+    /**
+     * Converts a UUID to its 16 byte representation.
+     *
+     * @param uuid the UUID to convert
+     * @return the 16 bytes of the UUID, most significant bits first
+     */
+    public static byte[] toBytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    /**
+     * Converts 16 bytes back to a UUID.
+     *
+     * @param bytes the 16 bytes of the UUID, most significant bits first
+     * @return the UUID
+     */
+    public static UUID fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+}